@@ -0,0 +1,129 @@
+package com.graduation.benchmark;
+
+import com.graduation.GraduationRecordsApplication;
+import com.graduation.service.CourseRankingIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Activity 1: Course ranking index benchmarks
+ * Measures enroll/unenroll, regrade and rank throughput of one hot course.
+ * Compare thread counts to see scaling, e.g.
+ * mvn -Pbenchmark verify -Djmh.args="CourseRankingIndexBenchmark -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CourseRankingIndexBenchmark {
+
+    private static final String COURSE_ID = "BENCH";
+
+    @Param({"10000"})
+    public int studentCount;
+
+    private ConfigurableApplicationContext context;
+    private CourseRankingIndex rankingIndex;
+    // Primary key of student i
+    private long[] studentKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments, so they take precedence over application.properties
+        context = new SpringApplicationBuilder(GraduationRecordsApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:rank-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.graduation=WARN");
+        rankingIndex = context.getBean(CourseRankingIndex.class);
+        seed(context.getBean(JdbcTemplate.class));
+        // Load the course into memory before measuring
+        rankingIndex.size(COURSE_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Move a random student to a new grade
+     */
+    @Benchmark
+    public void regrade() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        rankingIndex.gradeChanged(studentId(random.nextInt(studentCount)), random.nextInt(1001) / 10.0);
+    }
+
+    /**
+     * Drop a random student from the course and enroll them again
+     */
+    @Benchmark
+    public void unenrollAndEnroll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(studentCount);
+        String studentId = studentId(i);
+        rankingIndex.studentUnenrolled(COURSE_ID, studentId);
+        rankingIndex.studentEnrolled(COURSE_ID, studentKeys[i], studentId, random.nextInt(1001) / 10.0);
+    }
+
+    /**
+     * Rank lookup of a random student while the course is not being changed
+     */
+    @Benchmark
+    public int rank() {
+        return rankingIndex.rankOf(COURSE_ID, studentId(ThreadLocalRandom.current().nextInt(studentCount)));
+    }
+
+    /**
+     * Regrades from three threads while a fourth looks up ranks
+     * Writers only mark the changed student, the rank reader replays the marked students
+     */
+    @Benchmark
+    @Group("regradeWhileRanking")
+    @GroupThreads(3)
+    public void groupRegrade() {
+        regrade();
+    }
+
+    @Benchmark
+    @Group("regradeWhileRanking")
+    @GroupThreads(1)
+    public int groupRank() {
+        return rank();
+    }
+
+    private static String studentId(int i) {
+        return "BENCH-" + i;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO course (course_id, academic_year) VALUES (?, '2024-2025')", COURSE_ID);
+        Long courseKey = jdbcTemplate.queryForObject("SELECT id FROM course WHERE course_id = ?", Long.class, COURSE_ID);
+
+        List<Object[]> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            double average = ThreadLocalRandom.current().nextInt(1001) / 10.0;
+            students.add(new Object[]{studentId(i), average, average, 1});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO student (student_id, average_grade, grade_sum, grade_count) VALUES (?, ?, ?, ?)", students);
+        jdbcTemplate.update(
+                "INSERT INTO course_student (course_id, student_id) SELECT ?, id FROM student WHERE student_id LIKE 'BENCH-%'",
+                courseKey);
+        studentKeys = new long[studentCount];
+        jdbcTemplate.query("SELECT id, student_id FROM student WHERE student_id LIKE 'BENCH-%'", row -> {
+            studentKeys[Integer.parseInt(row.getString(2).substring("BENCH-".length()))] = row.getLong(1);
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.graduation.benchmark;
+
+import com.graduation.GraduationRecordsApplication;
+import com.graduation.entity.Course;
+import com.graduation.entity.Student;
+import com.graduation.repository.CourseRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Activity 1: Course statistics benchmarks
+ * Entity hydration vs database aggregation.
+ * Compares loading the course with its whole roster and streaming it three times
+ * (sum, max, min) against the single grouped aggregate query used as the fallback when the
+ * course rank index cannot cache the course.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CourseStatisticsBenchmark {
+
+    private static final String COURSE_ID = "BENCH";
+
+    @Param({"1000", "10000", "100000"})
+    public int studentCount;
+
+    private ConfigurableApplicationContext context;
+    private CourseRepository courseRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments, so they take precedence over application.properties
+        context = new SpringApplicationBuilder(GraduationRecordsApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + studentCount + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.graduation=WARN");
+        courseRepository = context.getBean(CourseRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Previous path: fetch join the roster, then three stream passes over the fetched set
+     */
+    @Benchmark
+    public double entityHydration() {
+        return transactionTemplate.execute(status -> {
+            Course course = courseRepository.findByCourseIdWithStudents(COURSE_ID).orElseThrow();
+            double sum = course.streamStudents().mapToDouble(Student::getAverageGrade).sum();
+            double max = course.streamStudents().mapToDouble(Student::getAverageGrade).max().orElse(0.0);
+            double min = course.streamStudents().mapToDouble(Student::getAverageGrade).min().orElse(0.0);
+            return sum / course.getStudentCount() + max + min;
+        });
+    }
+
+    /**
+     * Fallback path: one grouped aggregate query, no entities
+     */
+    @Benchmark
+    public double aggregateQuery() {
+        return transactionTemplate.execute(status -> {
+            double sum = 0.0;
+            long count = 0;
+            double max = 0.0;
+            double min = 100.0;
+            for (Object[] row : courseRepository.findGradeBucketsByCourseId(COURSE_ID)) {
+                count += ((Number) row[1]).longValue();
+                sum += ((Number) row[2]).doubleValue();
+                min = Math.min(min, ((Number) row[3]).doubleValue());
+                max = Math.max(max, ((Number) row[4]).doubleValue());
+            }
+            return sum / count + max + min;
+        });
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO course (course_id, academic_year) VALUES (?, '2024-2025')", COURSE_ID);
+        Long courseKey = jdbcTemplate.queryForObject("SELECT id FROM course WHERE course_id = ?", Long.class, COURSE_ID);
+
+        Random random = new Random(42);
+        List<Object[]> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            double average = Math.round(random.nextDouble() * 1000.0) / 10.0;
+            students.add(new Object[]{"BENCH-" + i, average, average, 1});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO student (student_id, average_grade, grade_sum, grade_count) VALUES (?, ?, ?, ?)", students);
+        jdbcTemplate.update(
+                "INSERT INTO course_student (course_id, student_id) SELECT ?, id FROM student WHERE student_id LIKE 'BENCH-%'",
+                courseKey);
+    }
+}
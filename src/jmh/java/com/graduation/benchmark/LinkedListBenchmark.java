@@ -0,0 +1,262 @@
+package com.graduation.benchmark;
+
+import com.graduation.datastructures.DoublyLinkedList;
+import com.graduation.datastructures.SinglyLinkedList;
+import com.graduation.datastructures.UnrolledLinkedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Activity 3: Linked list benchmarks
+ * Measures the singly, doubly and unrolled linked lists of the datastructures package against
+ * java.util.ArrayList, ArrayDeque and LinkedList for add, addFirst, get, remove, iteration and
+ * toString across list sizes.
+ * Each state only lists the implementations that support its operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LinkedListBenchmark {
+
+    /**
+     * Implementations supporting append, iteration and toString
+     */
+    @State(Scope.Thread)
+    public static class AppendState {
+        @Param({"SinglyLinkedList", "DoublyLinkedList", "UnrolledLinkedList", "ArrayList", "ArrayDeque", "LinkedList"})
+        public String impl;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        Subject filled;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            filled = fill(Subject.of(impl), size);
+        }
+    }
+
+    /**
+     * Implementations supporting insertion at the front
+     */
+    @State(Scope.Thread)
+    public static class PrependState {
+        @Param({"SinglyLinkedList", "DoublyLinkedList", "UnrolledLinkedList", "ArrayList", "ArrayDeque", "LinkedList"})
+        public String impl;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+    }
+
+    /**
+     * Implementations supporting positional access
+     */
+    @State(Scope.Thread)
+    public static class IndexedState {
+        @Param({"SinglyLinkedList", "DoublyLinkedList", "UnrolledLinkedList", "ArrayList", "LinkedList"})
+        public String impl;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        Subject filled;
+        int[] positions;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            filled = fill(Subject.of(impl), size);
+            Random random = new Random(42);
+            positions = new int[1024];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = random.nextInt(size);
+            }
+        }
+
+        int nextPosition() {
+            cursor = (cursor + 1) & (positions.length - 1);
+            return positions[cursor];
+        }
+    }
+
+    /**
+     * A freshly filled list for each drain invocation
+     */
+    @State(Scope.Thread)
+    public static class DrainState {
+        @Param({"SinglyLinkedList", "DoublyLinkedList", "UnrolledLinkedList", "ArrayList", "ArrayDeque", "LinkedList"})
+        public String impl;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        Subject list;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            list = fill(Subject.of(impl), size);
+        }
+    }
+
+    /**
+     * Build a list of n elements by appending
+     */
+    @Benchmark
+    public Object add(AppendState state) {
+        return fill(Subject.of(state.impl), state.size);
+    }
+
+    /**
+     * Build a list of n elements by prepending
+     */
+    @Benchmark
+    public Object addFirst(PrependState state) {
+        Subject list = Subject.of(state.impl);
+        for (int i = 0; i < state.size; i++) {
+            list.addFirst(element(i));
+        }
+        return list;
+    }
+
+    /**
+     * One positional read at a random index
+     */
+    @Benchmark
+    public String get(IndexedState state) {
+        return state.filled.get(state.nextPosition());
+    }
+
+    /**
+     * Empty a list of n elements from the front
+     */
+    @Benchmark
+    public void remove(DrainState state, Blackhole blackhole) {
+        Subject list = state.list;
+        for (int i = 0; i < state.size; i++) {
+            blackhole.consume(list.removeFirst());
+        }
+    }
+
+    /**
+     * Full traversal of a list of n elements through its iterator
+     */
+    @Benchmark
+    public void iterate(AppendState state, Blackhole blackhole) {
+        for (String value : state.filled) {
+            blackhole.consume(value);
+        }
+    }
+
+    /**
+     * String representation of a list of n elements
+     */
+    @Benchmark
+    public String toStringAll(AppendState state) {
+        return state.filled.toString();
+    }
+
+    private static Subject fill(Subject list, int size) {
+        for (int i = 0; i < size; i++) {
+            list.add(element(i));
+        }
+        return list;
+    }
+
+    private static String element(int i) {
+        return "S" + i;
+    }
+
+    /**
+     * Common view over the benchmarked implementations
+     * Operations an implementation lacks are never invoked (see the @Param lists above)
+     */
+    interface Subject extends Iterable<String> {
+        void add(String value);
+        void addFirst(String value);
+        String get(int index);
+        boolean removeFirst();
+
+        static Subject of(String impl) {
+            switch (impl) {
+                case "SinglyLinkedList": {
+                    SinglyLinkedList list = new SinglyLinkedList();
+                    return new Subject() {
+                        public void add(String value) { list.add(value); }
+                        public void addFirst(String value) { list.addFirst(value); }
+                        public String get(int index) { return list.get(index); }
+                        public boolean removeFirst() { return list.removeFirst(); }
+                        public Iterator<String> iterator() { return list.iterator(); }
+                        public String toString() { return list.toString(); }
+                    };
+                }
+                case "DoublyLinkedList": {
+                    DoublyLinkedList list = new DoublyLinkedList();
+                    return new Subject() {
+                        public void add(String value) { list.add(value); }
+                        public void addFirst(String value) { list.addFirst(value); }
+                        public String get(int index) { return list.get(index); }
+                        public boolean removeFirst() { return list.removeFirst(); }
+                        public Iterator<String> iterator() { return list.iterator(); }
+                        public String toString() { return list.toString(); }
+                    };
+                }
+                case "UnrolledLinkedList": {
+                    UnrolledLinkedList list = new UnrolledLinkedList();
+                    return new Subject() {
+                        public void add(String value) { list.add(value); }
+                        public void addFirst(String value) { list.addFirst(value); }
+                        public String get(int index) { return list.get(index); }
+                        public boolean removeFirst() { return list.removeFirst(); }
+                        public Iterator<String> iterator() { return list.iterator(); }
+                        public String toString() { return list.toString(); }
+                    };
+                }
+                case "ArrayList": {
+                    ArrayList<String> list = new ArrayList<>();
+                    return new Subject() {
+                        public void add(String value) { list.add(value); }
+                        public void addFirst(String value) { list.add(0, value); }
+                        public String get(int index) { return list.get(index); }
+                        public boolean removeFirst() { return list.remove(0) != null; }
+                        public Iterator<String> iterator() { return list.iterator(); }
+                        public String toString() { return list.toString(); }
+                    };
+                }
+                case "ArrayDeque": {
+                    ArrayDeque<String> list = new ArrayDeque<>();
+                    return new Subject() {
+                        public void add(String value) { list.addLast(value); }
+                        public void addFirst(String value) { list.addFirst(value); }
+                        public String get(int index) { throw new UnsupportedOperationException(); }
+                        public boolean removeFirst() { return list.pollFirst() != null; }
+                        public Iterator<String> iterator() { return list.iterator(); }
+                        public String toString() { return list.toString(); }
+                    };
+                }
+                case "LinkedList": {
+                    LinkedList<String> list = new LinkedList<>();
+                    return new Subject() {
+                        public void add(String value) { list.addLast(value); }
+                        public void addFirst(String value) { list.addFirst(value); }
+                        public String get(int index) { return list.get(index); }
+                        public boolean removeFirst() { return list.pollFirst() != null; }
+                        public Iterator<String> iterator() { return list.iterator(); }
+                        public String toString() { return list.toString(); }
+                    };
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + impl);
+            }
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.graduation;
 
+import com.graduation.datastructures.GradeList;
 import com.graduation.entity.Course;
 import com.graduation.entity.Student;
 import com.graduation.entity.Grade;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Scanner;
@@ -128,18 +128,18 @@ public class GraduationRecords {
     /**
      * Get grades input (comma-separated)
      */
-    private static List<Double> getGradesInput(String prompt) {
+    private static GradeList getGradesInput(String prompt) {
         while (true) {
             System.out.print(prompt);
             String input = scanner.nextLine().trim();
 
             if (input.isEmpty()) {
-                return new ArrayList<>();
+                return new GradeList();
             }
 
             try {
                 String[] parts = input.split(",");
-                List<Double> grades = new ArrayList<>();
+                GradeList grades = new GradeList(parts.length);
                 for (String part : parts) {
                     double grade = Double.parseDouble(part.trim());
                     if (grade < 0.0 || grade > 100.0) {
@@ -303,6 +303,7 @@ public class GraduationRecords {
         }
 
         selectedCourse.addStudent(selectedStudent);
+        selectedCourse.printStudentList();
         System.out.println("Student added to course successfully! (学生成功添加到课程！)");
         System.out.println();
     }
@@ -371,17 +372,16 @@ public class GraduationRecords {
             }
         }
 
-        List<Double> newGrades = getGradesInput("Enter new grades (comma-separated) or empty to keep current (输入新成绩，用逗号分隔，或留空保持当前): ");
+        GradeList newGrades = getGradesInput("Enter new grades (comma-separated) or empty to keep current (输入新成绩，用逗号分隔，或留空保持当前): ");
 
         if (!newGrades.isEmpty()) {
             // Clear existing grades and add new ones
-            selectedStudent.getGrades().clear();
-            for (Double grade : newGrades) {
-                selectedStudent.addGrade(new Grade(grade));
-            }
+            selectedStudent.clearGrades();
+            newGrades.forEach(grade -> selectedStudent.addGrade(new Grade(grade)));
 
             // Update the student in the course list and resort
             selectedCourse.updateStudentGrades(selectedStudent);
+            selectedCourse.printStudentList();
             System.out.println("Student grades updated successfully! (学生成绩更新成功！)");
         } else {
             System.out.println("No changes made. (未做任何更改。)");
@@ -445,6 +445,7 @@ public class GraduationRecords {
 
         boolean removed = selectedCourse.removeStudentById(selectedStudent.getStudentId());
         if (removed) {
+            selectedCourse.printStudentList();
             System.out.println("Student removed from course successfully! (学生成功从课程移除！)");
         } else {
             System.out.println("Failed to remove student. (移除学生失败。)");
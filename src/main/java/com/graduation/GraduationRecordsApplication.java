@@ -1,9 +1,12 @@
 package com.graduation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
@@ -15,8 +18,11 @@ import javax.sql.DataSource;
  * Spring Boot application entry point with smart database initialization
  */
 @SpringBootApplication
+@EnableScheduling
 public class GraduationRecordsApplication implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(GraduationRecordsApplication.class);
+
     @Autowired
     private DataSource dataSource;
 
@@ -25,12 +31,11 @@ public class GraduationRecordsApplication implements CommandLineRunner {
 
     public static void main(String[] args) {
         SpringApplication.run(GraduationRecordsApplication.class, args);
-        System.out.println("=== Graduation Records Management System Started ===");
-        System.out.println("Web Interface: http://localhost:8080");
-        System.out.println("H2 Console: http://localhost:8080/h2-console");
-        System.out.println("API Base URL: http://localhost:8080/api");
-        System.out.println("Health Check: http://localhost:8080/api/health");
-        System.out.println("==================================================");
+        log.info("=== Graduation Records Management System Started ===");
+        log.info("Web Interface: http://localhost:8080");
+        log.info("H2 Console: http://localhost:8080/h2-console");
+        log.info("API Base URL: http://localhost:8080/api");
+        log.info("Health Check: http://localhost:8080/api/health");
     }
 
     @Override
@@ -48,31 +53,35 @@ public class GraduationRecordsApplication implements CommandLineRunner {
             boolean tablesExist = checkIfTablesExist();
 
             if (!tablesExist) {
-                System.out.println("=== Initializing Database Schema ===");
+                log.info("=== Initializing Database Schema ===");
                 // Create tables
                 ResourceDatabasePopulator schemaPopulator = new ResourceDatabasePopulator();
                 schemaPopulator.addScript(new ClassPathResource("schema.sql"));
                 schemaPopulator.execute(dataSource);
-                System.out.println("Database schema created successfully");
+                log.info("Database schema created successfully");
             }
 
             // Check if data exists
             boolean dataExists = checkIfDataExists();
 
             if (!dataExists) {
-                System.out.println("=== Initializing Sample Data ===");
+                log.info("=== Initializing Sample Data ===");
                 // Insert sample data
                 ResourceDatabasePopulator dataPopulator = new ResourceDatabasePopulator();
                 dataPopulator.addScript(new ClassPathResource("data.sql"));
                 dataPopulator.execute(dataSource);
-                System.out.println("Sample data inserted successfully");
+                log.info("Sample data inserted successfully");
             } else {
-                System.out.println("=== Database Already Initialized ===");
-                System.out.println("Tables and data already exist, skipping initialization");
+                log.info("Tables and data already exist, skipping initialization");
             }
 
+            // Bring existing databases and fresh sample data up to date (idempotent statements only)
+            ResourceDatabasePopulator upgradePopulator = new ResourceDatabasePopulator();
+            upgradePopulator.addScript(new ClassPathResource("schema-upgrade.sql"));
+            upgradePopulator.execute(dataSource);
+
         } catch (Exception e) {
-            System.err.println("Database initialization failed: " + e.getMessage());
+            log.error("Database initialization failed: {}", e.getMessage(), e);
             // Don't fail the application if initialization fails
         }
     }
@@ -0,0 +1,104 @@
+package com.graduation.controller;
+
+import com.graduation.service.EntityLookupCache;
+import com.graduation.service.OptimisticRetryTemplate;
+import com.graduation.service.QueryDiagnostics;
+import com.graduation.service.RosterChangeLog;
+import com.graduation.service.SqlTraceInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Activity 1: Diagnostics REST Controller
+ * Exposes runtime statistics of in-process caches and indexes
+ */
+@RestController
+@RequestMapping("/api/diagnostics")
+@CrossOrigin(origins = "*")
+public class DiagnosticsController {
+
+    @Autowired
+    private EntityLookupCache lookupCache;
+
+    @Autowired
+    private OptimisticRetryTemplate optimisticRetry;
+
+    @Autowired
+    private RosterChangeLog rosterChangeLog;
+
+    @Autowired
+    private SqlTraceInspector sqlTrace;
+
+    @Autowired
+    private QueryDiagnostics queryDiagnostics;
+
+    /**
+     * Get hit/miss statistics of the student and course lookup caches
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<List<EntityLookupCache.CacheStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(List.of(lookupCache.getStudentStatistics(), lookupCache.getCourseStatistics()));
+    }
+
+    /**
+     * Get optimistic lock conflict and retry counts per mutation
+     */
+    @GetMapping("/contention")
+    public ResponseEntity<List<OptimisticRetryTemplate.ContentionStatistics>> getContentionStatistics() {
+        return ResponseEntity.ok(optimisticRetry.getStatistics());
+    }
+
+    /**
+     * Get buffer occupancy and published/dropped/written counts of the roster change log
+     */
+    @GetMapping("/roster-log")
+    public ResponseEntity<RosterChangeLog.Statistics> getRosterLogStatistics() {
+        return ResponseEntity.ok(rosterChangeLog.getStatistics());
+    }
+
+    /**
+     * Get the sampled SQL trace settings and how many statements were inspected and logged
+     */
+    @GetMapping("/sql-trace")
+    public ResponseEntity<SqlTraceInspector.Settings> getSqlTrace() {
+        return ResponseEntity.ok(sqlTrace.getSettings());
+    }
+
+    /**
+     * Turn the sampled SQL trace on or off at runtime, e.g. PUT /api/diagnostics/sql-trace?enabled=true&sampleRate=0.05
+     */
+    @PutMapping("/sql-trace")
+    public ResponseEntity<SqlTraceInspector.Settings> updateSqlTrace(@RequestParam boolean enabled,
+                                                                     @RequestParam(required = false) Double sampleRate) {
+        try {
+            sqlTrace.configure(enabled, sampleRate);
+            return ResponseEntity.ok(sqlTrace.getSettings());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get statements and entity loads per request for the top endpoints, requests over the
+     * thresholds, and the slowest queries seen by Hibernate statistics
+     */
+    @GetMapping("/queries")
+    public ResponseEntity<QueryDiagnostics.QueryReport> getQueryReport(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(queryDiagnostics.getReport(limit));
+    }
+
+    /**
+     * Reset the query report, e.g. before measuring a change
+     */
+    @DeleteMapping("/queries")
+    public ResponseEntity<Void> resetQueryReport() {
+        queryDiagnostics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,25 @@
 package com.graduation.controller;
 
+import com.graduation.datastructures.GradeList;
+import com.graduation.dto.CourseSummary;
+import com.graduation.dto.StudentSummary;
 import com.graduation.entity.Course;
 import com.graduation.entity.Student;
+import com.graduation.service.CourseRankingIndex;
 import com.graduation.service.CourseService;
+import com.graduation.service.GradeImportService;
 import com.graduation.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,13 +39,16 @@ public class GraduationController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private GradeImportService gradeImportService;
+
     /**
      * Get all students ordered by average grade descending
      * Activity 1 Requirement: Support ordering by average grade
      */
     @GetMapping("/students")
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudentsOrderedByGrade();
+    public ResponseEntity<List<StudentSummary>> getAllStudents() {
+        List<StudentSummary> students = studentService.getAllStudentsOrderedByGrade();
         return ResponseEntity.ok(students);
     }
 
@@ -41,8 +56,8 @@ public class GraduationController {
      * Get student by ID
      */
     @GetMapping("/students/{studentId}")
-    public ResponseEntity<Student> getStudent(@PathVariable String studentId) {
-        return studentService.findByStudentId(studentId)
+    public ResponseEntity<StudentSummary> getStudent(@PathVariable String studentId) {
+        return studentService.findSummaryByStudentId(studentId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -51,7 +66,7 @@ public class GraduationController {
      * Create new student
      */
     @PostMapping("/students")
-    public ResponseEntity<Student> createStudent(@RequestBody Map<String, String> request) {
+    public ResponseEntity<StudentSummary> createStudent(@RequestBody Map<String, String> request) {
         String studentId = request.get("studentId");
         if (studentId == null || studentId.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
@@ -59,7 +74,7 @@ public class GraduationController {
 
         try {
             Student student = studentService.createStudent(studentId.trim());
-            return ResponseEntity.ok(student);
+            return ResponseEntity.ok(StudentSummary.from(student));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -70,7 +85,7 @@ public class GraduationController {
      * Activity 1 Requirement: Allow grades to be updated
      */
     @PostMapping("/students/{studentId}/grades")
-    public ResponseEntity<Student> addGrade(@PathVariable String studentId,
+    public ResponseEntity<StudentSummary> addGrade(@PathVariable String studentId,
                                           @RequestBody Map<String, Object> request) {
         Double gradeValue = ((Number) request.get("gradeValue")).doubleValue();
         String courseId = (String) request.get("courseId");
@@ -85,37 +100,72 @@ public class GraduationController {
 
         try {
             Student student = studentService.addGrade(studentId, courseId.trim(), gradeValue);
-            return ResponseEntity.ok(student);
+            return ResponseEntity.ok(StudentSummary.from(student));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Still conflicting after the service's bounded retries
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
     /**
-     * Update student's grades (replace all)
+     * Update student's grades (replace all grades in one course)
+     * Every grade belongs to a course, so the courseId query parameter is required
      */
     @PutMapping("/students/{studentId}/grades")
-    public ResponseEntity<Student> updateGrades(@PathVariable String studentId,
-                                              @RequestBody List<Double> grades) {
+    public ResponseEntity<StudentSummary> updateGrades(@PathVariable String studentId,
+                                              @RequestParam(required = false) String courseId,
+                                              @RequestBody GradeList grades) {
         if (grades == null || grades.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
-        // Validate grade values
-        for (Double grade : grades) {
-            if (grade == null || grade < 0.0 || grade > 100.0) {
-                return ResponseEntity.badRequest().build();
-            }
+        if (courseId == null || courseId.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Validate grade values (null elements are rejected during deserialization)
+        if (!grades.allWithin(0.0, 100.0)) {
+            return ResponseEntity.badRequest().build();
         }
 
         try {
-            Student student = studentService.updateGrades(studentId, grades);
-            return ResponseEntity.ok(student);
+            Student student = courseService.updateStudentGrades(courseId.trim(), studentId, grades);
+            return ResponseEntity.ok(StudentSummary.from(student));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Still conflicting after the service's bounded retries
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
+    /**
+     * Bulk import grades from a JSON array of {studentId, courseId, gradeValue}
+     */
+    @PostMapping(value = "/grades/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GradeImportService.ImportResult> importGrades(
+            @RequestBody List<GradeImportService.GradeRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(gradeImportService.importGrades(records));
+    }
+
+    /**
+     * Bulk import grades from CSV lines "studentId,courseId,gradeValue"
+     */
+    @PostMapping(value = "/grades/batch", consumes = "text/csv")
+    public ResponseEntity<GradeImportService.ImportResult> importGradesCsv(InputStream body) throws IOException {
+        List<GradeImportService.GradeRecord> records =
+                gradeImportService.parseCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (records.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(gradeImportService.importGrades(records));
+    }
+
     /**
      * Delete student
      */
@@ -135,14 +185,8 @@ public class GraduationController {
     @GetMapping("/students/{studentId}/grades")
     public ResponseEntity<?> getStudentGrades(@PathVariable String studentId) {
         try {
-            var gradesByCourse = studentService.getStudentGradesByCourse(studentId);
-            var statistics = studentService.getStudentStatistics(studentId);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("gradesByCourse", gradesByCourse);
-            response.put("statistics", statistics);
-
-            return ResponseEntity.ok(response);
+            // gradesByCourse and statistics come from a single report query
+            return ResponseEntity.ok(studentService.getStudentGradeReport(studentId));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -153,25 +197,108 @@ public class GraduationController {
      * Activity 1 Requirement: Support ordering by average grade
      */
     @GetMapping("/courses/{courseId}/students")
-    public ResponseEntity<List<Student>> getCourseStudents(@PathVariable String courseId) {
+    public ResponseEntity<List<StudentSummary>> getCourseStudents(@PathVariable String courseId) {
         try {
-            List<Student> students = courseService.getCourseStudentsOrderedByGrade(courseId);
+            List<StudentSummary> students = courseService.getCourseStudentsOrderedByGrade(courseId);
             return ResponseEntity.ok(students);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Get one page of course students ordered by grade
+     * Pass the nextCursor of the previous page as cursor to continue
+     */
+    @GetMapping("/courses/{courseId}/students/page")
+    public ResponseEntity<CourseService.RosterPage> getCourseStudentsPage(@PathVariable String courseId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Double afterGrade = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf(':');
+            try {
+                afterGrade = Double.parseDouble(cursor.substring(0, separator));
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        try {
+            return ResponseEntity.ok(courseService.getCourseStudentsPage(courseId, afterGrade, afterId, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get a student's rank and percentile within a course
+     */
+    @GetMapping("/courses/{courseId}/students/{studentId}/rank")
+    public ResponseEntity<CourseService.CourseRank> getStudentRank(@PathVariable String courseId,
+                                                                  @PathVariable String studentId) {
+        try {
+            return ResponseEntity.ok(courseService.getStudentRank(courseId, studentId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get the top students of a course, either the first {limit} or the top {percent}%
+     */
+    @GetMapping("/courses/{courseId}/ranking")
+    public ResponseEntity<List<CourseRankingIndex.RankEntry>> getCourseRanking(@PathVariable String courseId,
+                                                                              @RequestParam(defaultValue = "10") int limit,
+                                                                              @RequestParam(required = false) Double percent) {
+        if (limit < 0 || (percent != null && (percent < 0.0 || percent > 100.0))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            List<CourseRankingIndex.RankEntry> ranking = percent != null
+                    ? courseService.getTopPercentStudents(courseId, percent)
+                    : courseService.getTopStudents(courseId, limit);
+            return ResponseEntity.ok(ranking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Add student to course
      * Activity 1 Requirement: Allow students to be inserted into the student list
      */
     @PostMapping("/courses/{courseId}/students/{studentId}")
-    public ResponseEntity<Course> addStudentToCourse(@PathVariable String courseId,
+    public ResponseEntity<CourseService.Enrollment> addStudentToCourse(@PathVariable String courseId,
                                                    @PathVariable String studentId) {
         try {
-            Course course = courseService.addStudentToCourse(courseId, studentId);
-            return ResponseEntity.ok(course);
+            CourseService.Enrollment enrollment = courseService.addStudentToCourse(courseId, studentId);
+            return ResponseEntity.ok(enrollment);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Add a cohort of students to a course in one request
+     * Body is a JSON array of student IDs; unknown and already enrolled IDs are reported back
+     */
+    @PostMapping("/courses/{courseId}/students:batch")
+    public ResponseEntity<CourseService.BatchEnrollment> addStudentsToCourse(@PathVariable String courseId,
+                                                                             @RequestBody List<String> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            CourseService.BatchEnrollment result = courseService.addStudentsToCourse(courseId, studentIds);
+            return ResponseEntity.ok(result);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -182,11 +309,11 @@ public class GraduationController {
      * Activity 1 Requirement: Allow students to be removed from the student list
      */
     @DeleteMapping("/courses/{courseId}/students/{studentId}")
-    public ResponseEntity<Course> removeStudentFromCourse(@PathVariable String courseId,
+    public ResponseEntity<CourseService.Enrollment> removeStudentFromCourse(@PathVariable String courseId,
                                                         @PathVariable String studentId) {
         try {
-            Course course = courseService.removeStudentFromCourse(courseId, studentId);
-            return ResponseEntity.ok(course);
+            CourseService.Enrollment enrollment = courseService.removeStudentFromCourse(courseId, studentId);
+            return ResponseEntity.ok(enrollment);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -197,25 +324,26 @@ public class GraduationController {
      * Activity 1 Requirement: Allow grades to be updated and reflect in ordering
      */
     @PutMapping("/courses/{courseId}/students/{studentId}/grades")
-    public ResponseEntity<Course> updateStudentGradesInCourse(@PathVariable String courseId,
+    public ResponseEntity<StudentSummary> updateStudentGradesInCourse(@PathVariable String courseId,
                                                             @PathVariable String studentId,
-                                                            @RequestBody List<Double> grades) {
+                                                            @RequestBody GradeList grades) {
         if (grades == null || grades.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
-        // Validate grade values
-        for (Double grade : grades) {
-            if (grade == null || grade < 0.0 || grade > 100.0) {
-                return ResponseEntity.badRequest().build();
-            }
+        // Validate grade values (null elements are rejected during deserialization)
+        if (!grades.allWithin(0.0, 100.0)) {
+            return ResponseEntity.badRequest().build();
         }
 
         try {
-            Course course = courseService.updateStudentGrades(courseId, studentId, grades);
-            return ResponseEntity.ok(course);
+            Student student = courseService.updateStudentGrades(courseId, studentId, grades);
+            return ResponseEntity.ok(StudentSummary.from(student));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            // Still conflicting after the service's bounded retries
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
@@ -236,7 +364,7 @@ public class GraduationController {
      * Create new course
      */
     @PostMapping("/courses")
-    public ResponseEntity<Course> createCourse(@RequestBody Map<String, String> request) {
+    public ResponseEntity<CourseSummary> createCourse(@RequestBody Map<String, String> request) {
         String courseId = request.get("courseId");
         String academicYear = request.get("academicYear");
 
@@ -247,7 +375,7 @@ public class GraduationController {
 
         try {
             Course course = courseService.createCourse(courseId.trim(), academicYear.trim());
-            return ResponseEntity.ok(course);
+            return ResponseEntity.ok(new CourseSummary(course.getCourseId(), course.getAcademicYear(), 0));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -270,8 +398,8 @@ public class GraduationController {
      * Get all courses summary
      */
     @GetMapping("/courses")
-    public ResponseEntity<List<CourseService.CourseSummary>> getAllCourses() {
-        List<CourseService.CourseSummary> courses = courseService.getAllCoursesSummary();
+    public ResponseEntity<List<CourseSummary>> getAllCourses() {
+        List<CourseSummary> courses = courseService.getAllCoursesSummary();
         return ResponseEntity.ok(courses);
     }
 
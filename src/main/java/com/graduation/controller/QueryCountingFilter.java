@@ -0,0 +1,44 @@
+package com.graduation.controller;
+
+import com.graduation.service.QueryDiagnostics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Activity 1: Opens and closes per-request query counting around every API call
+ * Requests are grouped by method and matched path pattern, so all courses share
+ * one "GET /api/courses/{courseId}/students" entry in the diagnostics report.
+ */
+@Component
+public class QueryCountingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private QueryDiagnostics queryDiagnostics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        queryDiagnostics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryDiagnostics.endRequest(pattern != null ? request.getMethod() + " " + pattern : null,
+                    System.nanoTime() - start);
+        }
+    }
+}
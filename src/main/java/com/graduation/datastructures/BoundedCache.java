@@ -0,0 +1,145 @@
+package com.graduation.datastructures;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Activity 1: Bounded LRU cache with time-to-live
+ * Entries are evicted when the cache exceeds its maximum size (least recently used first)
+ * or when they are older than the time-to-live. Hit, miss and eviction counts are kept
+ * for monitoring. All operations are synchronized.
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * Cached value together with its write time
+     */
+    private static class Entry<V> {
+        final V value;
+        final long writtenAt;
+
+        Entry(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor - creates empty cache
+     * @param maxSize maximum number of entries
+     * @param ttlMillis time-to-live of an entry in milliseconds
+     */
+    public BoundedCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        // Access order: iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get a cached value
+     * Time Complexity: O(1)
+     * @return the value, or null on a miss or an expired entry
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Store a value, evicting the least recently used entry if the cache is full
+     * Time Complexity: O(1) amortized
+     */
+    public synchronized void put(K key, V value) {
+        long now = System.nanoTime();
+        entries.put(key, new Entry<>(value, now));
+        if (entries.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Remove one entry
+     * Time Complexity: O(1)
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all entries
+     * Time Complexity: O(n)
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Get current number of entries (including not yet purged expired ones)
+     * Time Complexity: O(1)
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Share of lookups served from the cache
+     * Time Complexity: O(1)
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Drop least recently used entries until within bounds
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.writtenAt > ttlNanos;
+    }
+}
@@ -1,10 +1,19 @@
 package com.graduation.datastructures;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 /**
  * Activity 3: Doubly Linked List implementation
  * Stores String objects in nodes without using generics
+ * Iterators are fail-fast: structural changes made other than through the iterator
+ * itself cause ConcurrentModificationException on the next iterator operation
  */
-public class DoublyLinkedList {
+public class DoublyLinkedList implements Iterable<String> {
 
     /**
      * Node class for doubly linked list
@@ -24,6 +33,8 @@ public class DoublyLinkedList {
     private Node head;
     private Node tail;
     private int size;
+    // Structural modification count, checked by iterators to fail fast
+    private int modCount;
 
     /**
      * Constructor - creates empty list
@@ -49,6 +60,7 @@ public class DoublyLinkedList {
             tail = newNode;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -66,6 +78,7 @@ public class DoublyLinkedList {
             head = newNode;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -78,35 +91,13 @@ public class DoublyLinkedList {
 
     /**
      * Remove element at specified index
-     * Time Complexity: O(n) - need to traverse to index
+     * Time Complexity: O(n) - need to traverse to index (from the nearer end)
      */
     public boolean remove(int index) {
         if (index < 0 || index >= size) {
             return false;
         }
-
-        Node nodeToRemove;
-        if (index == 0) {
-            nodeToRemove = head;
-            head = head.next;
-            if (head != null) {
-                head.previous = null;
-            } else {
-                tail = null;
-            }
-        } else if (index == size - 1) {
-            nodeToRemove = tail;
-            tail = tail.previous;
-            tail.next = null;
-        } else {
-            nodeToRemove = head;
-            for (int i = 0; i < index; i++) {
-                nodeToRemove = nodeToRemove.next;
-            }
-            nodeToRemove.previous.next = nodeToRemove.next;
-            nodeToRemove.next.previous = nodeToRemove.previous;
-        }
-        size--;
+        unlink(node(index));
         return true;
     }
 
@@ -125,6 +116,7 @@ public class DoublyLinkedList {
             tail = null;
         }
         size--;
+        modCount++;
         return true;
     }
 
@@ -143,6 +135,7 @@ public class DoublyLinkedList {
             head = null;
         }
         size--;
+        modCount++;
         return true;
     }
 
@@ -154,21 +147,113 @@ public class DoublyLinkedList {
         if (index < 0 || index >= size) {
             return null;
         }
+        return node(index).data;
+    }
 
-        Node current;
-        // Optimize: start from head or tail depending on index
-        if (index < size / 2) {
-            current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.next;
-            }
-        } else {
-            current = tail;
-            for (int i = size - 1; i > index; i--) {
-                current = current.previous;
+    /**
+     * Append a copy of every element of another list
+     * The copied nodes are chained first and then linked in with a single splice
+     * Time Complexity: O(m) where m is the size of the other list
+     * @return true if this list changed
+     */
+    public boolean addAll(DoublyLinkedList other) {
+        int count = other.size;
+        if (count == 0) {
+            return false;
+        }
+        // Bounded by the original count so that addAll(this) terminates
+        Node source = other.head;
+        Node first = new Node(source.data);
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            source = source.next;
+            Node copy = new Node(source.data);
+            copy.previous = last;
+            last.next = copy;
+            last = copy;
+        }
+        linkLast(first, last, count);
+        return true;
+    }
+
+    /**
+     * Move every element of another list to the end of this one, leaving the other list empty
+     * Time Complexity: O(1) - nodes are relinked, not copied
+     */
+    public void splice(DoublyLinkedList other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list into itself");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        linkLast(other.head, other.tail, other.size);
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.modCount++;
+    }
+
+    /**
+     * Remove every element matching the filter in a single pass
+     * Time Complexity: O(n)
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<String> filter) {
+        boolean removed = false;
+        Node current = head;
+        while (current != null) {
+            Node next = current.next;
+            if (filter.test(current.data)) {
+                unlink(current);
+                removed = true;
             }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Perform an action for each element from head to tail without index arithmetic
+     * Time Complexity: O(n)
+     */
+    @Override
+    public void forEach(Consumer<? super String> action) {
+        int expectedModCount = modCount;
+        for (Node current = head; current != null && modCount == expectedModCount; current = current.next) {
+            action.accept(current.data);
         }
-        return current.data;
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Fail-fast iterator from head to tail
+     * Time Complexity: O(1) per step, remove() is O(1)
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Fail-fast list iterator positioned at the head
+     * Time Complexity: O(1) per step, remove/add/set at the cursor are O(1)
+     */
+    public ListIterator<String> listIterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Fail-fast list iterator positioned before the given index
+     * Time Complexity: O(n) to position the cursor, then O(1) per operation
+     */
+    public ListIterator<String> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new ListItr(index);
     }
 
     /**
@@ -210,4 +295,186 @@ public class DoublyLinkedList {
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * Locate the node at a valid index, starting from head or tail depending on index
+     * Time Complexity: O(n)
+     */
+    private Node node(int index) {
+        Node current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.previous;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Link a new node before an existing one
+     * Time Complexity: O(1)
+     */
+    private void linkBefore(String data, Node successor) {
+        Node newNode = new Node(data);
+        Node predecessor = successor.previous;
+        newNode.next = successor;
+        newNode.previous = predecessor;
+        successor.previous = newNode;
+        if (predecessor == null) {
+            head = newNode;
+        } else {
+            predecessor.next = newNode;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Link an already chained run of nodes after the tail
+     * Time Complexity: O(1)
+     */
+    private void linkLast(Node first, Node last, int count) {
+        first.previous = tail;
+        if (tail == null) {
+            head = first;
+        } else {
+            tail.next = first;
+        }
+        tail = last;
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Unlink a node from the list
+     * Time Complexity: O(1)
+     */
+    private void unlink(Node node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.next = null;
+        node.previous = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Bidirectional cursor over the nodes
+     * The cursor sits between previous() and next(); remove and set act on the last returned element
+     */
+    private class ListItr implements ListIterator<String> {
+        private Node next;
+        private Node lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = index == size ? null : node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public String next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public String previous() {
+            checkForComodification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            next = next == null ? tail : next.previous;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            Node lastNext = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned) {
+                // Removed after previous(): the cursor index is unchanged
+                next = lastNext;
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(String data) {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned.data = data;
+        }
+
+        @Override
+        public void add(String data) {
+            checkForComodification();
+            lastReturned = null;
+            if (next == null) {
+                DoublyLinkedList.this.add(data);
+            } else {
+                linkBefore(data, next);
+            }
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
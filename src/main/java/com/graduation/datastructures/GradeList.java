@@ -0,0 +1,190 @@
+package com.graduation.datastructures;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * Activity 1: Grade list (primitive double array)
+ * Growable list of grade values backed by a primitive double array
+ * Replaces List&lt;Double&gt; on the grade paths: no boxing and no per-element allocation.
+ * Sum, minimum and maximum are maintained as values are appended, so the
+ * statistics below are O(1).
+ * Serialized to and from JSON as a plain array of numbers.
+ */
+public class GradeList {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private double[] values;
+    private int size;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructor - creates empty list
+     */
+    public GradeList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor - creates empty list with room for the given number of grades
+     */
+    public GradeList(int initialCapacity) {
+        this.values = new double[Math.max(initialCapacity, 0)];
+    }
+
+    /**
+     * Create a list holding a copy of the given grades
+     * Time Complexity: O(n)
+     */
+    public static GradeList of(double... grades) {
+        return wrap(grades.clone());
+    }
+
+    /**
+     * JSON factory: takes ownership of the array Jackson has just allocated instead of copying it
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    static GradeList wrap(double[] grades) {
+        GradeList list = new GradeList(0);
+        list.values = grades;
+        for (double grade : grades) {
+            list.accumulate(grade);
+        }
+        list.size = grades.length;
+        return list;
+    }
+
+    /**
+     * Append a grade
+     * Time Complexity: O(1) amortized
+     */
+    public void add(double grade) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        values[size++] = grade;
+        accumulate(grade);
+    }
+
+    /**
+     * Get grade at specified index
+     * Time Complexity: O(1)
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Get number of grades
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if list is empty
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all grades, keeping the allocated capacity
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        size = 0;
+        sum = 0.0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Sum of all grades
+     * Time Complexity: O(1)
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Lowest grade, or 0.0 if empty
+     * Time Complexity: O(1)
+     */
+    public double min() {
+        return size > 0 ? min : 0.0;
+    }
+
+    /**
+     * Highest grade, or 0.0 if empty
+     * Time Complexity: O(1)
+     */
+    public double max() {
+        return size > 0 ? max : 0.0;
+    }
+
+    /**
+     * Mean of all grades, or 0.0 if empty
+     * Time Complexity: O(1)
+     */
+    public double mean() {
+        return size > 0 ? sum / size : 0.0;
+    }
+
+    /**
+     * Check that every grade lies in [low, high]; NaN is never within range
+     * Time Complexity: O(1)
+     */
+    public boolean allWithin(double low, double high) {
+        return size == 0 || (min >= low && max <= high && !Double.isNaN(sum));
+    }
+
+    /**
+     * Perform an action for each grade without boxing
+     * Time Complexity: O(n)
+     */
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Primitive stream over the grades
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    /**
+     * Copy of the grades as an array (also the JSON representation)
+     * Time Complexity: O(n)
+     */
+    @JsonValue
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void accumulate(double grade) {
+        sum += grade;
+        min = Math.min(min, grade);
+        max = Math.max(max, grade);
+    }
+}
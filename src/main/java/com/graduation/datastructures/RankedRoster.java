@@ -0,0 +1,387 @@
+package com.graduation.datastructures;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Activity 1: Ranked roster (order-statistic tree)
+ * Keeps entries in descending order by grade, ties broken by an optional numeric key
+ * and then by ascending ID.
+ * Backed by a size-augmented AVL tree plus a hash index from ID to tree node,
+ * so insert, remove, reposition and rank lookups never re-sort the roster.
+ */
+public class RankedRoster<T> implements Iterable<T> {
+
+    /**
+     * Tree node - the sort key (grade, tie, id) is captured at insertion time so that
+     * an entry can still be located after its grade has changed
+     */
+    private static class Node<T> {
+        T value;
+        String id;
+        double grade;
+        long tie;
+        Node<T> left;
+        Node<T> right;
+        int height;
+        int size;
+
+        Node(T value, String id, double grade, long tie) {
+            this.value = value;
+            this.id = id;
+            this.grade = grade;
+            this.tie = tie;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    private final Function<T, String> idFunction;
+    private final ToDoubleFunction<T> gradeFunction;
+    private final ToLongFunction<T> tieFunction;
+    private final Map<String, Node<T>> index = new HashMap<>();
+    private Node<T> root;
+
+    /**
+     * Constructor - creates empty roster
+     * @param idFunction extracts the unique ID of an entry
+     * @param gradeFunction extracts the grade used for ordering
+     */
+    public RankedRoster(Function<T, String> idFunction, ToDoubleFunction<T> gradeFunction) {
+        this(idFunction, gradeFunction, value -> 0L);
+    }
+
+    /**
+     * Constructor - creates empty roster with its own tie-break order
+     * @param idFunction extracts the unique ID of an entry
+     * @param gradeFunction extracts the grade used for ordering
+     * @param tieFunction extracts the key that orders equal grades (ascending), before the ID
+     */
+    public RankedRoster(Function<T, String> idFunction, ToDoubleFunction<T> gradeFunction,
+                        ToLongFunction<T> tieFunction) {
+        this.idFunction = idFunction;
+        this.gradeFunction = gradeFunction;
+        this.tieFunction = tieFunction;
+    }
+
+    /**
+     * Insert an entry at its ranked position
+     * Time Complexity: O(log n)
+     * @return false if an entry with the same ID is already present
+     */
+    public boolean add(T value) {
+        String id = idFunction.apply(value);
+        if (id == null || index.containsKey(id)) {
+            return false;
+        }
+        Node<T> node = new Node<>(value, id, gradeFunction.applyAsDouble(value), tieFunction.applyAsLong(value));
+        root = insert(root, node);
+        index.put(id, node);
+        return true;
+    }
+
+    /**
+     * Remove the entry with the given ID
+     * Time Complexity: O(log n)
+     * @return the removed entry, or null if not present
+     */
+    public T remove(String id) {
+        Node<T> node = id != null ? index.get(id) : null;
+        if (node == null) {
+            return null;
+        }
+        T value = node.value;
+        root = delete(root, node.grade, node.tie, node.id);
+        index.remove(id);
+        return value;
+    }
+
+    /**
+     * Move an entry to the position matching its current grade
+     * Also replaces the stored instance with the given one
+     * Time Complexity: O(log n)
+     * @return the previously stored entry, or null if the ID is not present
+     */
+    public T reposition(T value) {
+        String id = idFunction.apply(value);
+        Node<T> node = id != null ? index.get(id) : null;
+        if (node == null) {
+            return null;
+        }
+        T previous = node.value;
+        double grade = gradeFunction.applyAsDouble(value);
+        if (Double.compare(grade, node.grade) == 0) {
+            node.value = value;
+            return previous;
+        }
+        remove(id);
+        add(value);
+        return previous;
+    }
+
+    /**
+     * Check if an entry with the given ID is present
+     * Time Complexity: O(1)
+     */
+    public boolean contains(String id) {
+        return id != null && index.containsKey(id);
+    }
+
+    /**
+     * Get entry by ID
+     * Time Complexity: O(1)
+     */
+    public T get(String id) {
+        Node<T> node = id != null ? index.get(id) : null;
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Get entry at the given position (0 = highest grade)
+     * Time Complexity: O(log n)
+     */
+    public T get(int position) {
+        if (position < 0 || position >= size()) {
+            return null;
+        }
+        Node<T> current = root;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (position < leftSize) {
+                current = current.left;
+            } else if (position == leftSize) {
+                return current.value;
+            } else {
+                position -= leftSize + 1;
+                current = current.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the position of the entry with the given ID (0 = highest grade)
+     * Time Complexity: O(log n)
+     * @return the position, or -1 if not present
+     */
+    public int indexOf(String id) {
+        Node<T> node = id != null ? index.get(id) : null;
+        if (node == null) {
+            return -1;
+        }
+        int position = 0;
+        Node<T> current = root;
+        while (current != null) {
+            int cmp = compare(node.grade, node.tie, node.id, current.grade, current.tie, current.id);
+            if (cmp < 0) {
+                current = current.left;
+            } else if (cmp > 0) {
+                position += size(current.left) + 1;
+                current = current.right;
+            } else {
+                return position + size(current.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get current size of the roster
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Check if roster is empty
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Remove all entries
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        root = null;
+        index.clear();
+    }
+
+    /**
+     * Read-only list view in descending grade order
+     * get(i) is O(log n), iteration is O(n) overall
+     */
+    public List<T> asList() {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int position) {
+                if (position < 0 || position >= RankedRoster.this.size()) {
+                    throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + RankedRoster.this.size());
+                }
+                return RankedRoster.this.get(position);
+            }
+
+            @Override
+            public int size() {
+                return RankedRoster.this.size();
+            }
+
+            @Override
+            public Iterator<T> iterator() {
+                return RankedRoster.this.iterator();
+            }
+        };
+    }
+
+    /**
+     * In-order iterator (highest grade first)
+     * Time Complexity: O(1) amortized per step
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final Deque<Node<T>> stack = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<T> node) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> node = stack.pop();
+                pushLeft(node.right);
+                return node.value;
+            }
+        };
+    }
+
+    /**
+     * Ordering: higher grade first, then ascending tie key, then ascending ID for a stable total order
+     */
+    private static int compare(double gradeA, long tieA, String idA, double gradeB, long tieB, String idB) {
+        int cmp = Double.compare(gradeB, gradeA);
+        if (cmp == 0) {
+            cmp = Long.compare(tieA, tieB);
+        }
+        return cmp != 0 ? cmp : idA.compareTo(idB);
+    }
+
+    private Node<T> insert(Node<T> current, Node<T> node) {
+        if (current == null) {
+            return node;
+        }
+        if (compare(node.grade, node.tie, node.id, current.grade, current.tie, current.id) < 0) {
+            current.left = insert(current.left, node);
+        } else {
+            current.right = insert(current.right, node);
+        }
+        return rebalance(current);
+    }
+
+    private Node<T> delete(Node<T> current, double grade, long tie, String id) {
+        if (current == null) {
+            return null;
+        }
+        int cmp = compare(grade, tie, id, current.grade, current.tie, current.id);
+        if (cmp < 0) {
+            current.left = delete(current.left, grade, tie, id);
+        } else if (cmp > 0) {
+            current.right = delete(current.right, grade, tie, id);
+        } else {
+            if (current.left == null) {
+                return current.right;
+            }
+            if (current.right == null) {
+                return current.left;
+            }
+            // Two children: move the in-order successor into this node
+            Node<T> successor = current.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            current.right = delete(current.right, successor.grade, successor.tie, successor.id);
+            current.value = successor.value;
+            current.id = successor.id;
+            current.grade = successor.grade;
+            current.tie = successor.tie;
+            index.put(current.id, current);
+        }
+        return rebalance(current);
+    }
+
+    private Node<T> rebalance(Node<T> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<T> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int height(Node<?> node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+}
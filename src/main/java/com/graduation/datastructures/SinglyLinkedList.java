@@ -1,10 +1,15 @@
 package com.graduation.datastructures;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Activity 3: Singly Linked List implementation
  * Stores String objects in nodes without using generics
+ * Keeps a tail reference so appends are O(1), which also makes it usable as a FIFO queue
  */
-public class SinglyLinkedList {
+public class SinglyLinkedList implements Iterable<String> {
 
     /**
      * Node class for singly linked list
@@ -20,37 +25,62 @@ public class SinglyLinkedList {
     }
 
     private Node head;
+    private Node tail;
     private int size;
+    // Structural modification count, checked by iterators to fail fast
+    private int modCount;
 
     /**
      * Constructor - creates empty list
      */
     public SinglyLinkedList() {
         this.head = null;
+        this.tail = null;
         this.size = 0;
     }
 
     /**
      * Add element to the end of the list
-     * Time Complexity: O(n) - need to traverse to end
+     * Time Complexity: O(1) - direct access to tail
      */
     public void add(String data) {
         Node newNode = new Node(data);
         if (head == null) {
             head = newNode;
         } else {
-            Node current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
+            tail.next = newNode;
+        }
+        tail = newNode;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Add element to the beginning of the list
+     * Time Complexity: O(1) - direct access to head
+     */
+    public void addFirst(String data) {
+        Node newNode = new Node(data);
+        newNode.next = head;
+        head = newNode;
+        if (tail == null) {
+            tail = newNode;
         }
         size++;
+        modCount++;
+    }
+
+    /**
+     * Add element to the end of the list (alias for add)
+     * Time Complexity: O(1)
+     */
+    public void addLast(String data) {
+        add(data);
     }
 
     /**
      * Remove element at specified index
-     * Time Complexity: O(n) - need to traverse to index
+     * Time Complexity: O(n) - need to traverse to index, O(1) for index 0
      */
     public boolean remove(int index) {
         if (index < 0 || index >= size) {
@@ -58,26 +88,72 @@ public class SinglyLinkedList {
         }
 
         if (index == 0) {
-            head = head.next;
-        } else {
-            Node current = head;
-            for (int i = 0; i < index - 1; i++) {
-                current = current.next;
-            }
-            current.next = current.next.next;
+            return removeFirst();
         }
+        Node current = head;
+        for (int i = 0; i < index - 1; i++) {
+            current = current.next;
+        }
+        if (current.next == tail) {
+            tail = current;
+        }
+        current.next = current.next.next;
         size--;
+        modCount++;
         return true;
     }
 
+    /**
+     * Remove first element
+     * Time Complexity: O(1)
+     */
+    public boolean removeFirst() {
+        if (isEmpty()) {
+            return false;
+        }
+        head = head.next;
+        if (head == null) {
+            tail = null;
+        }
+        size--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Get the first element without removing it
+     * Time Complexity: O(1)
+     * @return the first element, or null if the list is empty
+     */
+    public String peek() {
+        return head != null ? head.data : null;
+    }
+
+    /**
+     * Remove and return the first element (queue dequeue)
+     * Time Complexity: O(1)
+     * @return the removed element, or null if the list is empty
+     */
+    public String poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        String data = head.data;
+        removeFirst();
+        return data;
+    }
+
     /**
      * Get element at specified index
-     * Time Complexity: O(n) - need to traverse to index
+     * Time Complexity: O(n) - need to traverse to index, O(1) for the last element
      */
     public String get(int index) {
         if (index < 0 || index >= size) {
             return null;
         }
+        if (index == size - 1) {
+            return tail.data;
+        }
 
         Node current = head;
         for (int i = 0; i < index; i++) {
@@ -102,6 +178,16 @@ public class SinglyLinkedList {
         return size == 0;
     }
 
+    /**
+     * Fail-fast iterator from head to tail
+     * Use this instead of get(i) loops, which are O(n^2) in total
+     * Time Complexity: O(1) per step, remove() is O(1)
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Itr();
+    }
+
     /**
      * Convert list to string representation
      * Time Complexity: O(n)
@@ -125,4 +211,59 @@ public class SinglyLinkedList {
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * Iterator tracking the node before the last returned one, so that remove() can unlink in O(1)
+     */
+    private class Itr implements Iterator<String> {
+        private Node next = head;
+        private Node lastReturned;
+        private Node beforeLastReturned;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            checkForComodification();
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            if (lastReturned != null) {
+                beforeLastReturned = lastReturned;
+            }
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.data;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (beforeLastReturned == null) {
+                head = next;
+            } else {
+                beforeLastReturned.next = next;
+            }
+            if (lastReturned == tail) {
+                tail = beforeLastReturned;
+            }
+            lastReturned = null;
+            size--;
+            modCount++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
@@ -0,0 +1,511 @@
+package com.graduation.datastructures;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Activity 3: Unrolled Linked List implementation
+ * Stores String objects without using generics, like SinglyLinkedList and DoublyLinkedList,
+ * but keeps up to a fixed number of elements per node in a small array.
+ * One node (and its header) is shared by a whole chunk of elements, and iteration walks
+ * contiguous array slots, so traversal runs at close to array speed and indexed access
+ * skips a chunk at a time.
+ */
+public class UnrolledLinkedList implements Iterable<String> {
+
+    /**
+     * Default number of elements per chunk
+     */
+    public static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    /**
+     * Chunk of up to capacity elements, held in items[start, end)
+     * Free slots on both sides make appends and prepends O(1)
+     */
+    private static class Chunk {
+        final String[] items;
+        int start;
+        int end;
+        Chunk next;
+        Chunk previous;
+
+        Chunk(int capacity, int offset) {
+            this.items = new String[capacity];
+            this.start = offset;
+            this.end = offset;
+        }
+
+        int count() {
+            return end - start;
+        }
+    }
+
+    private final int chunkCapacity;
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+    // Structural modification count, checked by iterators to fail fast
+    private int modCount;
+    // Offset from the chunk's start of the index located by the last chunkAt call
+    private int locatedOffset;
+
+    /**
+     * Constructor - creates empty list with the default chunk capacity
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Constructor - creates empty list
+     * @param chunkCapacity number of elements per chunk (at least 2)
+     */
+    public UnrolledLinkedList(int chunkCapacity) {
+        if (chunkCapacity < 2) {
+            throw new IllegalArgumentException("Chunk capacity must be at least 2");
+        }
+        this.chunkCapacity = chunkCapacity;
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+    /**
+     * Add element to the end of the list
+     * Time Complexity: O(1) - free slot in the tail chunk or a new chunk
+     */
+    public void add(String data) {
+        if (tail == null || tail.end == chunkCapacity) {
+            linkChunkAfter(tail, new Chunk(chunkCapacity, 0));
+        }
+        tail.items[tail.end++] = data;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Add element to the beginning of the list
+     * Time Complexity: O(1) - free slot in the head chunk or a new chunk
+     */
+    public void addFirst(String data) {
+        if (head == null || head.start == 0) {
+            linkChunkBefore(head, new Chunk(chunkCapacity, chunkCapacity));
+        }
+        head.items[--head.start] = data;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Add element to the end of the list (alias for add)
+     * Time Complexity: O(1)
+     */
+    public void addLast(String data) {
+        add(data);
+    }
+
+    /**
+     * Remove element at specified index
+     * Sparse neighbouring chunks are merged so indexed access stays fast
+     * Time Complexity: O(n / B) to find the chunk plus O(B) to shift within it, B = chunk capacity
+     */
+    public boolean remove(int index) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        Chunk chunk = chunkAt(index);
+        int position = chunk.start + locatedOffset;
+        removeAt(chunk, position);
+        if (chunk.count() > 0) {
+            mergeWithNext(chunk);
+        }
+        return true;
+    }
+
+    /**
+     * Remove first element
+     * Time Complexity: O(1)
+     */
+    public boolean removeFirst() {
+        if (isEmpty()) {
+            return false;
+        }
+        head.items[head.start++] = null;
+        afterRemoval(head);
+        return true;
+    }
+
+    /**
+     * Remove last element
+     * Time Complexity: O(1)
+     */
+    public boolean removeLast() {
+        if (isEmpty()) {
+            return false;
+        }
+        tail.items[--tail.end] = null;
+        afterRemoval(tail);
+        return true;
+    }
+
+    /**
+     * Get the first element without removing it
+     * Time Complexity: O(1)
+     * @return the first element, or null if the list is empty
+     */
+    public String peek() {
+        return head != null ? head.items[head.start] : null;
+    }
+
+    /**
+     * Remove and return the first element (queue dequeue)
+     * Time Complexity: O(1)
+     * @return the removed element, or null if the list is empty
+     */
+    public String poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        String data = head.items[head.start];
+        removeFirst();
+        return data;
+    }
+
+    /**
+     * Get element at specified index
+     * Time Complexity: O(n / B) - skips whole chunks, starting from the nearer end
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        Chunk chunk = chunkAt(index);
+        return chunk.items[chunk.start + locatedOffset];
+    }
+
+    /**
+     * Append a copy of every element of another list
+     * Time Complexity: O(m) where m is the size of the other list
+     * @return true if this list changed
+     */
+    public boolean addAll(UnrolledLinkedList other) {
+        // Bounded by the original count so that addAll(this) terminates
+        int remaining = other.size;
+        if (remaining == 0) {
+            return false;
+        }
+        for (Chunk chunk = other.head; remaining > 0; chunk = chunk.next) {
+            for (int i = chunk.start; i < chunk.end && remaining > 0; i++, remaining--) {
+                add(chunk.items[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Move every element of another list to the end of this one, leaving the other list empty
+     * Time Complexity: O(1) - chunks are relinked, not copied
+     */
+    public void splice(UnrolledLinkedList other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list into itself");
+        }
+        if (other.chunkCapacity != chunkCapacity) {
+            throw new IllegalArgumentException("Cannot splice lists with different chunk capacities");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        other.head.previous = tail;
+        if (tail == null) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+        }
+        tail = other.tail;
+        size += other.size;
+        modCount++;
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.modCount++;
+    }
+
+    /**
+     * Remove every element matching the filter in a single pass
+     * Surviving elements are compacted and sparse chunks merged along the way
+     * Time Complexity: O(n)
+     * @return true if any element was removed
+     */
+    public boolean removeIf(Predicate<String> filter) {
+        int removed = 0;
+        Chunk chunk = head;
+        while (chunk != null) {
+            Chunk next = chunk.next;
+            int write = chunk.start;
+            for (int read = chunk.start; read < chunk.end; read++) {
+                String data = chunk.items[read];
+                if (filter.test(data)) {
+                    removed++;
+                } else {
+                    chunk.items[write++] = data;
+                }
+            }
+            for (int i = write; i < chunk.end; i++) {
+                chunk.items[i] = null;
+            }
+            chunk.end = write;
+            if (chunk.count() == 0) {
+                unlinkChunk(chunk);
+            }
+            chunk = next;
+        }
+        if (removed == 0) {
+            return false;
+        }
+        size -= removed;
+        modCount++;
+        for (chunk = head; chunk != null; chunk = chunk.next) {
+            mergeWithNext(chunk);
+        }
+        return true;
+    }
+
+    /**
+     * Perform an action for each element from head to tail
+     * Time Complexity: O(n) - a linear scan of each chunk's array
+     */
+    @Override
+    public void forEach(Consumer<? super String> action) {
+        int expectedModCount = modCount;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = chunk.start; i < chunk.end; i++) {
+                action.accept(chunk.items[i]);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Fail-fast iterator from head to tail
+     * Time Complexity: O(1) per step, remove() is O(B)
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Get current size of the list
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if list is empty
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Convert list to string representation
+     * Time Complexity: O(n)
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = chunk.start; i < chunk.end; i++) {
+                sb.append(chunk.items[i]);
+                sb.append(", ");
+            }
+        }
+        sb.setLength(sb.length() - 2);
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Locate the chunk holding a valid index, starting from head or tail depending on index
+     * Sets locatedOffset to the index's offset from the chunk's start
+     * Time Complexity: O(n / B)
+     */
+    private Chunk chunkAt(int index) {
+        if (index < size / 2) {
+            Chunk chunk = head;
+            while (index >= chunk.count()) {
+                index -= chunk.count();
+                chunk = chunk.next;
+            }
+            locatedOffset = index;
+            return chunk;
+        }
+        int fromEnd = size - 1 - index;
+        Chunk chunk = tail;
+        while (fromEnd >= chunk.count()) {
+            fromEnd -= chunk.count();
+            chunk = chunk.previous;
+        }
+        locatedOffset = chunk.count() - 1 - fromEnd;
+        return chunk;
+    }
+
+    /**
+     * Remove the element at an array position of a chunk, shifting the elements after it left
+     * Time Complexity: O(B)
+     */
+    private void removeAt(Chunk chunk, int position) {
+        System.arraycopy(chunk.items, position + 1, chunk.items, position, chunk.end - position - 1);
+        chunk.items[--chunk.end] = null;
+        afterRemoval(chunk);
+    }
+
+    private void afterRemoval(Chunk chunk) {
+        if (chunk.count() == 0) {
+            unlinkChunk(chunk);
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Fold the next chunk into this one while both together fit in half a chunk
+     * Keeps chunks at least moderately full after removals
+     * Time Complexity: O(B)
+     */
+    private void mergeWithNext(Chunk chunk) {
+        Chunk next = chunk.next;
+        if (next == null || chunk.count() + next.count() > chunkCapacity / 2) {
+            return;
+        }
+        if (chunk.end + next.count() > chunkCapacity) {
+            int count = chunk.count();
+            System.arraycopy(chunk.items, chunk.start, chunk.items, 0, count);
+            Arrays.fill(chunk.items, count, chunk.end, null);
+            chunk.start = 0;
+            chunk.end = count;
+        }
+        System.arraycopy(next.items, next.start, chunk.items, chunk.end, next.count());
+        chunk.end += next.count();
+        unlinkChunk(next);
+    }
+
+    private void linkChunkAfter(Chunk predecessor, Chunk chunk) {
+        chunk.previous = predecessor;
+        if (predecessor == null) {
+            head = chunk;
+            tail = chunk;
+        } else {
+            chunk.next = predecessor.next;
+            predecessor.next = chunk;
+            if (predecessor == tail) {
+                tail = chunk;
+            } else {
+                chunk.next.previous = chunk;
+            }
+        }
+    }
+
+    private void linkChunkBefore(Chunk successor, Chunk chunk) {
+        if (successor == null) {
+            linkChunkAfter(null, chunk);
+            return;
+        }
+        chunk.next = successor;
+        chunk.previous = successor.previous;
+        successor.previous = chunk;
+        if (successor == head) {
+            head = chunk;
+        } else {
+            chunk.previous.next = chunk;
+        }
+    }
+
+    private void unlinkChunk(Chunk chunk) {
+        if (chunk.previous == null) {
+            head = chunk.next;
+        } else {
+            chunk.previous.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.previous;
+        } else {
+            chunk.next.previous = chunk.previous;
+        }
+    }
+
+    /**
+     * Cursor over (chunk, array position); remove() shifts within the chunk and never merges,
+     * so the cursor stays valid
+     */
+    private class Itr implements Iterator<String> {
+        private Chunk chunk = head;
+        private int position = head != null ? head.start : 0;
+        private Chunk lastChunk;
+        private int lastPosition;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return chunk != null && position < chunk.end;
+        }
+
+        @Override
+        public String next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastChunk = chunk;
+            lastPosition = position;
+            advance(chunk, position + 1);
+            return lastChunk.items[lastPosition];
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (lastChunk == null) {
+                throw new IllegalStateException();
+            }
+            Chunk following = lastChunk.next;
+            removeAt(lastChunk, lastPosition);
+            if (lastChunk.count() == 0) {
+                advance(following, following != null ? following.start : 0);
+            } else {
+                // Elements after the removed one moved left by one slot
+                advance(lastChunk, lastPosition);
+            }
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+
+        private void advance(Chunk from, int fromPosition) {
+            chunk = from;
+            position = fromPosition;
+            if (chunk != null && position >= chunk.end && chunk.next != null) {
+                chunk = chunk.next;
+                position = chunk.start;
+            }
+        }
+    }
+}
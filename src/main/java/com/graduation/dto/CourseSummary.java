@@ -0,0 +1,23 @@
+package com.graduation.dto;
+
+/**
+ * Activity 1: Read model of a course for REST responses
+ * Course ID, academic year and enrollment count, without the roster.
+ * Filled directly by a JPQL constructor expression in CourseRepository.
+ */
+public class CourseSummary {
+    private final String courseId;
+    private final String academicYear;
+    private final int studentCount;
+
+    public CourseSummary(String courseId, String academicYear, long studentCount) {
+        this.courseId = courseId;
+        this.academicYear = academicYear;
+        this.studentCount = (int) studentCount;
+    }
+
+    // Getters
+    public String getCourseId() { return courseId; }
+    public String getAcademicYear() { return academicYear; }
+    public int getStudentCount() { return studentCount; }
+}
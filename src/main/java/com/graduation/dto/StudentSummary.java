@@ -0,0 +1,44 @@
+package com.graduation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.graduation.entity.Student;
+
+/**
+ * Activity 1: Read model of a student for REST responses
+ * Carries only the scalar columns the client shows, so serialization never touches the
+ * lazy grades or courses collections of the Student entity.
+ * Filled directly by JPQL constructor expressions in StudentRepository.
+ */
+public class StudentSummary {
+    private final Long id;
+    private final String studentId;
+    private final double averageGrade;
+    private final int gradeCount;
+
+    public StudentSummary(Long id, String studentId, Double averageGrade, int gradeCount) {
+        this.id = id;
+        this.studentId = studentId;
+        this.averageGrade = averageGrade != null ? averageGrade : 0.0;
+        this.gradeCount = gradeCount;
+    }
+
+    /**
+     * Summary of an already loaded student
+     * Time Complexity: O(1), reads no collections
+     */
+    public static StudentSummary from(Student student) {
+        return new StudentSummary(student.getId(), student.getStudentId(), student.getAverageGrade(),
+                student.getGradeCount());
+    }
+
+    /**
+     * Primary key, only used for the roster page cursor and not serialized
+     */
+    @JsonIgnore
+    public Long getId() { return id; }
+
+    // Getters
+    public String getStudentId() { return studentId; }
+    public double getAverageGrade() { return averageGrade; }
+    public int getGradeCount() { return gradeCount; }
+}
@@ -1,13 +1,16 @@
 package com.graduation.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.graduation.datastructures.RankedRoster;
 import jakarta.persistence.*;
 import java.util.*;
-import java.util.LinkedList;
+import java.util.stream.Stream;
 
 /**
  * Activity 1: Course entity
- * Manages students with LinkedList and maintains descending order by average grade
+ * Manages students with a ranked roster and maintains descending order by average grade
+ * The enrollment collection is a Set, so Hibernate adds or deletes single course_student rows
+ * on change instead of deleting and re-inserting the whole roster as it does for a List (bag)
  */
 @Entity
 @Table(name = "course")
@@ -29,8 +32,23 @@ public class Course {
         joinColumns = @JoinColumn(name = "course_id"),
         inverseJoinColumns = @JoinColumn(name = "student_id")
     )
+    @OrderBy("averageGrade DESC, studentId ASC")
     @JsonManagedReference
-    private List<Student> students = new LinkedList<>();
+    private Set<Student> students = new LinkedHashSet<>();
+
+    /**
+     * Optimistic lock version, bumped by writes to the course row itself so concurrent edits
+     * conflict instead of overwriting each other; enrollment changes only write course_student rows
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * In-memory ranking of the persisted students collection, built on first use
+     */
+    @Transient
+    private RankedRoster<Student> roster;
 
     // Constructors
     public Course() {}
@@ -45,6 +63,10 @@ public class Course {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -65,72 +87,92 @@ public class Course {
         this.academicYear = academicYear;
     }
 
+    /**
+     * Students in descending order by average grade (read-only view)
+     * Time Complexity: O(n log n) on first access to build the roster, O(1) afterwards
+     */
     public List<Student> getStudents() {
-        return students;
+        return roster().asList();
     }
 
-    public void setStudents(List<Student> students) {
+    /**
+     * Stream the persisted students in fetch order, without building the ranked roster
+     * Time Complexity: O(1) to obtain, O(n) to consume
+     */
+    public Stream<Student> streamStudents() {
+        return students.stream();
+    }
+
+    public void setStudents(Set<Student> students) {
         this.students = students;
+        this.roster = null;
+    }
+
+    /**
+     * Lazily build the ranked roster from the persisted collection
+     * Time Complexity: O(n log n) once per loaded course
+     */
+    private RankedRoster<Student> roster() {
+        if (roster == null) {
+            roster = new RankedRoster<>(Student::getStudentId,
+                    s -> s.getAverageGrade() != null ? s.getAverageGrade() : 0.0);
+            for (Student student : students) {
+                roster.add(student);
+            }
+        }
+        return roster;
     }
 
     /**
      * Add a student to the course and maintain descending order by average grade
-     * Time Complexity: O(n log n) due to sorting after insertion
+     * Time Complexity: O(log n) for ranked insertion
      * Activity 1 Requirement: Maintain list in descending order based on student average grade
      */
     public void addStudent(Student student) {
-        if (student == null) {
+        if (student == null || student.getStudentId() == null) {
             return;
         }
 
-        // Check if student is already enrolled
-        for (Student existing : students) {
-            if (existing.getStudentId().equals(student.getStudentId())) {
-                return; // Already enrolled
-            }
+        if (!roster().add(student)) {
+            return; // Already enrolled
         }
 
         students.add(student);
-        sortStudentsByGradeDescending();
-        printStudentList();
     }
 
     /**
      * Remove a student from the course
-     * Time Complexity: O(n) for removal and printing
+     * Time Complexity: O(log n) for the roster, O(1) for the persisted set
      * Activity 1 Requirement: Allow students to be removed from the student list
      */
     public boolean removeStudent(Student student) {
         if (student == null) {
             return false;
         }
-
-        boolean removed = students.removeIf(s -> s.getStudentId().equals(student.getStudentId()));
-        if (removed) {
-            printStudentList();
-        }
-        return removed;
+        return removeStudentById(student.getStudentId());
     }
 
     /**
      * Remove student by student ID
-     * Time Complexity: O(n) for removal and printing
+     * Time Complexity: O(log n) for the roster, O(1) for the persisted set
      */
     public boolean removeStudentById(String studentId) {
         if (studentId == null) {
             return false;
         }
 
-        boolean removed = students.removeIf(s -> s.getStudentId().equals(studentId));
-        if (removed) {
-            printStudentList();
+        Student removed = roster().remove(studentId);
+        if (removed == null) {
+            return false;
         }
-        return removed;
+
+        students.remove(removed);
+        return true;
     }
 
     /**
-     * Update grades for a student and resort the list
-     * Time Complexity: O(n log n) due to sorting
+     * Update grades for a student and move them to their new rank
+     * Time Complexity: O(log n) for repositioning
      * Activity 1 Requirement: Allow grades to be updated and reflect in ordering
      */
     public void updateStudentGrades(Student student) {
@@ -138,28 +180,23 @@ public class Course {
             return;
         }
 
-        // Find and update the student in our list
-        for (int i = 0; i < students.size(); i++) {
-            if (students.get(i).getStudentId().equals(student.getStudentId())) {
-                students.set(i, student);
-                sortStudentsByGradeDescending();
-                printStudentList();
-                return;
-            }
+        Student previous = roster().reposition(student);
+        if (previous == null) {
+            return; // Not enrolled
         }
-    }
 
-    /**
-     * Sort students by average grade in descending order (highest first)
-     * Time Complexity: O(n log n) using Collections.sort
-     */
-    private void sortStudentsByGradeDescending() {
-        students.sort((s1, s2) -> s2.compareTo(s1)); // Descending order
+        if (previous != student) {
+            students.remove(previous);
+            students.add(student);
+        }
     }
 
     /**
-     * Print the current student list after every change
+     * Print the current student list
      * Activity 1 Requirement: Print student list after every change
+     * Mutators no longer print the whole roster themselves: the web application records each
+     * change as a diff in the asynchronous roster change log, the console application calls
+     * this after every change
      * Time Complexity: O(n)
      */
     public void printStudentList() {
@@ -169,9 +206,9 @@ public class Course {
         if (students.isEmpty()) {
             System.out.println("No students enrolled.");
         } else {
-            for (int i = 0; i < students.size(); i++) {
-                Student student = students.get(i);
-                System.out.printf("%d. %s%n", i + 1, student.toString());
+            int position = 1;
+            for (Student student : roster()) {
+                System.out.printf("%d. %s%n", position++, student.toString());
             }
         }
         System.out.println("Total students: " + students.size());
@@ -188,27 +225,18 @@ public class Course {
 
     /**
      * Check if student is enrolled
-     * Time Complexity: O(n)
+     * Time Complexity: O(1) via the roster index
      */
     public boolean isStudentEnrolled(String studentId) {
-        if (studentId == null) {
-            return false;
-        }
-        return students.stream().anyMatch(s -> s.getStudentId().equals(studentId));
+        return roster().contains(studentId);
     }
 
     /**
      * Get student by ID
-     * Time Complexity: O(n)
+     * Time Complexity: O(1) via the roster index
      */
     public Student getStudentById(String studentId) {
-        if (studentId == null) {
-            return null;
-        }
-        return students.stream()
-                .filter(s -> s.getStudentId().equals(studentId))
-                .findFirst()
-                .orElse(null);
+        return roster().get(studentId);
     }
 
     /**
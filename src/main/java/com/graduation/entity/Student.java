@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Activity 1: Student entity
@@ -24,13 +26,29 @@ public class Student implements Comparable<Student> {
     @Column(name = "average_grade")
     private Double averageGrade = 0.0;
 
+    /**
+     * Running sum and count of grades, so the average can be maintained in O(1) per write
+     */
+    @Column(name = "grade_sum", nullable = false)
+    private double gradeSum = 0.0;
+
+    @Column(name = "grade_count", nullable = false)
+    private int gradeCount = 0;
+
+    /**
+     * Optimistic lock version, so concurrent grade updates cannot overwrite each other's totals
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<Grade> grades = new ArrayList<>();
 
     @ManyToMany(mappedBy = "students")
     @JsonBackReference
-    private List<Course> courses = new ArrayList<>();
+    private Set<Course> courses = new HashSet<>();
 
     // Constructors
     public Student() {}
@@ -50,6 +68,10 @@ public class Student implements Comparable<Student> {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -70,6 +92,14 @@ public class Student implements Comparable<Student> {
         this.averageGrade = averageGrade != null ? averageGrade : 0.0;
     }
 
+    public double getGradeSum() {
+        return gradeSum;
+    }
+
+    public int getGradeCount() {
+        return gradeCount;
+    }
+
     public List<Grade> getGrades() {
         return grades;
     }
@@ -78,34 +108,33 @@ public class Student implements Comparable<Student> {
         this.grades = grades;
     }
 
-    public List<Course> getCourses() {
+    public Set<Course> getCourses() {
         return courses;
     }
 
-    public void setCourses(List<Course> courses) {
+    public void setCourses(Set<Course> courses) {
         this.courses = courses;
     }
 
     /**
-     * Calculate average grade from grades list
+     * Calculate average grade from grades list (full rebuild of the running totals)
      * Time Complexity: O(n) where n is number of grades
      */
     public void calculateAverageGrade() {
-        if (grades == null || grades.isEmpty()) {
-            this.averageGrade = 0.0;
-            return;
-        }
-
-        double sum = 0.0;
-        for (Grade grade : grades) {
-            sum += grade.getGradeValue();
+        gradeSum = 0.0;
+        gradeCount = 0;
+        if (grades != null) {
+            for (Grade grade : grades) {
+                gradeSum += grade.getGradeValue();
+                gradeCount++;
+            }
         }
-        this.averageGrade = sum / grades.size();
+        refreshAverageGrade();
     }
 
     /**
-     * Add a grade to the student and recalculate average
-     * Time Complexity: O(n) for average calculation
+     * Add a grade to the student and update the running average
+     * Time Complexity: O(1)
      */
     public void addGrade(Grade grade) {
         if (grades == null) {
@@ -113,18 +142,59 @@ public class Student implements Comparable<Student> {
         }
         grades.add(grade);
         grade.setStudent(this);
-        calculateAverageGrade();
+        applyGradeAdded(grade.getGradeValue());
     }
 
     /**
-     * Remove a grade from the student and recalculate average
-     * Time Complexity: O(n) for average calculation
+     * Remove a grade from the student and update the running average
+     * Time Complexity: O(n) to find the grade, O(1) for the average
      */
     public void removeGrade(Grade grade) {
+        if (grades != null && grades.remove(grade)) {
+            applyGradeRemoved(grade.getGradeValue());
+        }
+    }
+
+    /**
+     * Remove all grades and reset the running average
+     * Time Complexity: O(n) to clear the list, O(1) for the average
+     */
+    public void clearGrades() {
         if (grades != null) {
-            grades.remove(grade);
-            calculateAverageGrade();
+            grades.clear();
         }
+        applyGradesReplaced(gradeCount, gradeSum, 0, 0.0);
+    }
+
+    /**
+     * Update running totals for a grade that was stored
+     * Time Complexity: O(1)
+     */
+    public void applyGradeAdded(double gradeValue) {
+        applyGradesReplaced(0, 0.0, 1, gradeValue);
+    }
+
+    /**
+     * Update running totals for a grade that was deleted
+     * Time Complexity: O(1)
+     */
+    public void applyGradeRemoved(double gradeValue) {
+        applyGradesReplaced(1, gradeValue, 0, 0.0);
+    }
+
+    /**
+     * Update running totals for a set of grades replaced by another
+     * Time Complexity: O(1)
+     */
+    public void applyGradesReplaced(int removedCount, double removedSum, int addedCount, double addedSum) {
+        gradeCount = Math.max(gradeCount - removedCount + addedCount, 0);
+        // Reset the sum with the count so rounding drift cannot outlive the last grade
+        gradeSum = gradeCount == 0 ? 0.0 : gradeSum - removedSum + addedSum;
+        refreshAverageGrade();
+    }
+
+    private void refreshAverageGrade() {
+        this.averageGrade = gradeCount > 0 ? gradeSum / gradeCount : 0.0;
     }
 
     /**
@@ -1,11 +1,14 @@
 package com.graduation.repository;
 
+import com.graduation.dto.CourseSummary;
 import com.graduation.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,13 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      */
     Optional<Course> findByCourseId(String courseId);
 
+    /**
+     * Find the primary key of a course by course ID
+     * Time Complexity: O(log n) due to database indexing
+     */
+    @Query("SELECT c.id FROM Course c WHERE c.courseId = :courseId")
+    Optional<Long> findIdByCourseId(@Param("courseId") String courseId);
+
     /**
      * Check if course exists by course ID
      * Time Complexity: O(log n)
@@ -49,11 +59,12 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCourseIdWithStudents(@Param("courseId") String courseId);
 
     /**
-     * Find all courses with student counts
+     * Find summaries of all courses with student counts, without loading entities
      * Time Complexity: O(n)
      */
-    @Query("SELECT c, COUNT(s) FROM Course c LEFT JOIN c.students s GROUP BY c")
-    List<Object[]> findAllWithStudentCounts();
+    @Query("SELECT new com.graduation.dto.CourseSummary(c.courseId, c.academicYear, COUNT(s)) " +
+           "FROM Course c LEFT JOIN c.students s GROUP BY c.id, c.courseId, c.academicYear ORDER BY c.id")
+    List<CourseSummary> findAllSummaries();
 
     /**
      * Count total students across all courses
@@ -68,4 +79,49 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      */
     @Query("SELECT c FROM Course c JOIN c.students s WHERE s.studentId = :studentId")
     List<Course> findCoursesByStudentId(@Param("studentId") String studentId);
+
+    /**
+     * Aggregate the average grades of a course's students in one query, grouped into
+     * 10-point buckets: (bucket, count, sum, min, max) per non-empty bucket
+     * Used for course statistics when the in-memory rank index cannot cache the course
+     * Time Complexity: O(n) in the database, at most 11 rows returned
+     */
+    @Query("SELECT FLOOR(s.averageGrade / 10), COUNT(s), SUM(s.averageGrade), MIN(s.averageGrade), MAX(s.averageGrade) " +
+           "FROM Course c JOIN c.students s WHERE c.courseId = :courseId GROUP BY FLOOR(s.averageGrade / 10)")
+    List<Object[]> findGradeBucketsByCourseId(@Param("courseId") String courseId);
+
+    /**
+     * Count the enrollment row of a student in a course (0 or 1)
+     * Time Complexity: O(log n) - primary key lookup on course_student
+     */
+    @Query(value = "SELECT COUNT(*) FROM course_student WHERE course_id = :courseId AND student_id = :studentId",
+           nativeQuery = true)
+    int countEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    /**
+     * Insert a single enrollment row, without loading or rewriting the course roster
+     * Time Complexity: O(log n) independent of the roster size
+     */
+    @Modifying
+    @Query(value = "INSERT INTO course_student (course_id, student_id) VALUES (:courseId, :studentId)",
+           nativeQuery = true)
+    int insertEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    /**
+     * Delete a single enrollment row
+     * Time Complexity: O(log n) independent of the roster size
+     * @return number of rows deleted (0 if the student was not enrolled)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM course_student WHERE course_id = :courseId AND student_id = :studentId",
+           nativeQuery = true)
+    int deleteEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    /**
+     * Primary keys of the given students that are already enrolled in a course
+     * Time Complexity: O(k log n) - one primary key lookup per candidate on course_student
+     */
+    @Query(value = "SELECT student_id FROM course_student WHERE course_id = :courseId AND student_id IN (:studentIds)",
+           nativeQuery = true)
+    List<Long> findEnrolledStudentKeys(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
 }
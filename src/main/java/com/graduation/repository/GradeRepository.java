@@ -3,6 +3,7 @@ package com.graduation.repository;
 import com.graduation.entity.Grade;
 import com.graduation.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -66,13 +67,64 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
      * Delete all grades for a student by student ID
      * Time Complexity: O(n)
      */
+    @Modifying
     @Query("DELETE FROM Grade g WHERE g.student.studentId = :studentId")
     void deleteByStudentId(@Param("studentId") String studentId);
 
+    /**
+     * Count and sum a student's grades in one course
+     * Used to compute running-total deltas before the grades are replaced
+     * Time Complexity: O(n) where n is the student's grades
+     */
+    @Query("SELECT COUNT(g), COALESCE(SUM(g.gradeValue), 0.0) FROM Grade g WHERE g.student.id = :studentId AND g.course.id = :courseId")
+    List<Object[]> findGradeTotalsByStudentAndCourse(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    /**
+     * Count and sum grades per student in one course
+     * Used to compute running-total deltas before a course is deleted
+     * Time Complexity: O(n) where n is the course's grades
+     */
+    @Query("SELECT g.student.id, COUNT(g), SUM(g.gradeValue) FROM Grade g WHERE g.course.id = :courseId GROUP BY g.student.id")
+    List<Object[]> findGradeTotalsPerStudentByCourse(@Param("courseId") Long courseId);
+
+    /**
+     * Delete a student's grades in one course
+     * Time Complexity: O(n) where n is the student's grades
+     */
+    @Modifying
+    @Query("DELETE FROM Grade g WHERE g.student.id = :studentId AND g.course.id = :courseId")
+    int deleteByStudentAndCourse(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
     /**
      * Find grades by student ID and course ID
      * Time Complexity: O(n)
      */
     @Query("SELECT g FROM Grade g WHERE g.student.studentId = :studentId AND g.course.id = :courseId")
     List<Grade> findGradesByStudentIdAndCourseId(@Param("studentId") String studentId, @Param("courseId") Long courseId);
+
+    /**
+     * Find everything needed for a student's grade report in one round trip
+     * Rows are (averageGrade, courseId, gradeValue, gradeCount, gradeAverage, highestGrade, lowestGrade):
+     * one per grade in an enrolled course, plus one row with a null gradeValue per enrolled
+     * course without grades (or a single row with a null courseId for a student without courses).
+     * The last four columns repeat the aggregates over all of the student's grades, including
+     * courses the student has left; they are null when the student has no grades.
+     * An existing student always yields at least one row, so an empty result means the
+     * student does not exist.
+     * Time Complexity: O(n) where n is the number of grades
+     */
+    @Query(value = "SELECT s.average_grade, c.course_id, g.grade_value, " +
+                   "t.grade_count, t.grade_average, t.highest_grade, t.lowest_grade " +
+                   "FROM student s " +
+                   "LEFT JOIN course_student cs ON cs.student_id = s.id " +
+                   "LEFT JOIN course c ON c.id = cs.course_id " +
+                   "LEFT JOIN grade g ON g.student_id = s.id AND g.course_id = c.id " +
+                   "LEFT JOIN (SELECT ag.student_id, COUNT(*) AS grade_count, AVG(ag.grade_value) AS grade_average, " +
+                   "MAX(ag.grade_value) AS highest_grade, MIN(ag.grade_value) AS lowest_grade " +
+                   "FROM grade ag JOIN student ast ON ast.id = ag.student_id " +
+                   "WHERE ast.student_id = :studentId GROUP BY ag.student_id) t ON t.student_id = s.id " +
+                   "WHERE s.student_id = :studentId " +
+                   "ORDER BY c.course_id, g.created_at, g.id",
+           nativeQuery = true)
+    List<Object[]> findGradeReportRowsByStudentId(@Param("studentId") String studentId);
 }
@@ -1,11 +1,14 @@
 package com.graduation.repository;
 
+import com.graduation.dto.StudentSummary;
 import com.graduation.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,20 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     Optional<Student> findByStudentId(String studentId);
 
+    /**
+     * Find the primary key of a student by student ID
+     * Time Complexity: O(log n) due to database indexing
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.studentId = :studentId")
+    Optional<Long> findIdByStudentId(@Param("studentId") String studentId);
+
+    /**
+     * Find student ID, primary key and average grade of every existing student among the given IDs
+     * Time Complexity: O(k log n) with one round trip for k IDs
+     */
+    @Query("SELECT s.studentId, s.id, s.averageGrade FROM Student s WHERE s.studentId IN :studentIds")
+    List<Object[]> findKeysByStudentIdIn(@Param("studentIds") Collection<String> studentIds);
+
     /**
      * Check if student exists by student ID
      * Time Complexity: O(log n)
@@ -36,6 +53,22 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s ORDER BY s.averageGrade DESC")
     List<Student> findAllOrderByAverageGradeDesc();
 
+    /**
+     * Find summaries of all students ordered by average grade descending, without loading entities
+     * Time Complexity: O(n log n) for sorting
+     */
+    @Query("SELECT new com.graduation.dto.StudentSummary(s.id, s.studentId, s.averageGrade, s.gradeCount) " +
+           "FROM Student s ORDER BY s.averageGrade DESC, s.id ASC")
+    List<StudentSummary> findAllSummariesOrderByAverageGradeDesc();
+
+    /**
+     * Find the summary of one student by student ID, without loading the entity
+     * Time Complexity: O(log n) due to database indexing
+     */
+    @Query("SELECT new com.graduation.dto.StudentSummary(s.id, s.studentId, s.averageGrade, s.gradeCount) " +
+           "FROM Student s WHERE s.studentId = :studentId")
+    Optional<StudentSummary> findSummaryByStudentId(@Param("studentId") String studentId);
+
     /**
      * Find students with average grade above threshold
      * Time Complexity: O(n)
@@ -45,15 +78,58 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     /**
      * Find students enrolled in a specific course
+     * Ties on average grade are ordered by id so the order is stable across calls
      * Time Complexity: O(n)
      */
-    @Query("SELECT s FROM Student s JOIN s.courses c WHERE c.courseId = :courseId ORDER BY s.averageGrade DESC")
+    @Query("SELECT s FROM Student s JOIN s.courses c WHERE c.courseId = :courseId ORDER BY s.averageGrade DESC, s.id ASC")
     List<Student> findByCourseIdOrderByAverageGradeDesc(@Param("courseId") String courseId);
 
+    /**
+     * Find summaries of the students enrolled in a course, without loading entities
+     * Time Complexity: O(n)
+     */
+    @Query("SELECT new com.graduation.dto.StudentSummary(s.id, s.studentId, s.averageGrade, s.gradeCount) " +
+           "FROM Student s JOIN s.courses c WHERE c.courseId = :courseId ORDER BY s.averageGrade DESC, s.id ASC")
+    List<StudentSummary> findSummariesByCourseIdOrderByAverageGradeDesc(@Param("courseId") String courseId);
+
+    /**
+     * Find summaries of the students with the given primary keys, in no particular order
+     * Used to fill a roster page whose order comes from the course rank index
+     * Time Complexity: O(k log n) for k keys, one primary key lookup each
+     */
+    @Query("SELECT new com.graduation.dto.StudentSummary(s.id, s.studentId, s.averageGrade, s.gradeCount) " +
+           "FROM Student s WHERE s.id IN :ids")
+    List<StudentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Count students in a course
      * Time Complexity: O(1) with proper indexing
      */
     @Query("SELECT COUNT(s) FROM Student s JOIN s.courses c WHERE c.courseId = :courseId")
     long countByCourseId(@Param("courseId") String courseId);
+
+    /**
+     * Find (id, studentId, averageGrade) rows of a course without loading entities
+     * Used to build the in-memory course rank index
+     * Time Complexity: O(n)
+     */
+    @Query("SELECT s.id, s.studentId, s.averageGrade FROM Student s JOIN s.courses c WHERE c.courseId = :courseId")
+    List<Object[]> findRankEntriesByCourseId(@Param("courseId") String courseId);
+
+    /**
+     * Rebuild running grade totals and averages for students whose stored totals drifted
+     * from their grade rows (e.g. after a crash between a bulk insert and its totals update)
+     * Time Complexity: O(g) where g is the total number of grades
+     * @return number of students that were corrected
+     */
+    @Modifying
+    @Query(value = "UPDATE student s SET " +
+                   "grade_sum = (SELECT COALESCE(SUM(g.grade_value), 0.0) FROM grade g WHERE g.student_id = s.id), " +
+                   "grade_count = (SELECT COUNT(*) FROM grade g WHERE g.student_id = s.id), " +
+                   "average_grade = (SELECT COALESCE(AVG(g.grade_value), 0.0) FROM grade g WHERE g.student_id = s.id), " +
+                   "updated_at = CURRENT_TIMESTAMP, version = version + 1 " +
+                   "WHERE s.grade_count <> (SELECT COUNT(*) FROM grade g WHERE g.student_id = s.id) " +
+                   "OR ABS(s.grade_sum - (SELECT COALESCE(SUM(g.grade_value), 0.0) FROM grade g WHERE g.student_id = s.id)) > 0.000001",
+           nativeQuery = true)
+    int rebuildDriftedGradeTotals();
 }
@@ -0,0 +1,471 @@
+package com.graduation.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.graduation.datastructures.RankedRoster;
+import com.graduation.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Consumer;
+
+import static com.graduation.service.TransactionHooks.afterCommit;
+
+/**
+ * Activity 1: In-memory rank index per course
+ * Keeps the (id, studentId, averageGrade) entries of each course in a concurrent skip list, plus
+ * running aggregates (sum and a grade histogram), so that rank, percentile, top-K and
+ * statistics lookups and roster pages do not load Student entities. Enrollments and grade changes of
+ * different students update the skip list concurrently and without locks; the
+ * order-statistic tree that answers rank queries is brought up to date by the rank
+ * lookups themselves, off the write path.
+ * Rosters are loaded on first use and kept in step with enrollment and grade changes
+ * once the surrounding transaction commits. Every committed change bumps a change stamp
+ * before it is applied, and a freshly loaded roster is only published if no stamp of its
+ * course moved while it was read, so a change committed during a load is never lost.
+ */
+@Component
+public class CourseRankingIndex {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    /**
+     * Histogram buckets of 10 grade points each: [0,10), [10,20) ... [90,100]
+     */
+    public static final int HISTOGRAM_BUCKETS = 10;
+
+    private static final int STAMP_STRIPES = 64;
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final Map<String, CourseRanking> rosters = new ConcurrentHashMap<>();
+    // Change stamps: changes to one course bump its stripe, changes to every course bump allCoursesStamp
+    private final AtomicLongArray courseStamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLong allCoursesStamp = new AtomicLong();
+
+    /**
+     * Rank of a student within a course (1 = highest average grade)
+     * Time Complexity: O(log n), plus O(log n) amortized per change since the previous rank lookup
+     * @return the rank, or -1 if the student is not enrolled
+     */
+    public int rankOf(String courseId, String studentId) {
+        return roster(courseId).rankOf(studentId);
+    }
+
+    /**
+     * Get the indexed entry of an enrolled student
+     * Time Complexity: O(1)
+     */
+    public RankEntry entryOf(String courseId, String studentId) {
+        return roster(courseId).byStudent.get(studentId);
+    }
+
+    /**
+     * Number of students enrolled in a course
+     * Time Complexity: O(1)
+     */
+    public int size(String courseId) {
+        return roster(courseId).byStudent.size();
+    }
+
+    /**
+     * Highest ranked entries of a course
+     * Time Complexity: O(k + log n), without blocking concurrent updates
+     */
+    public List<RankEntry> top(String courseId, int limit) {
+        CourseRanking roster = roster(courseId);
+        List<RankEntry> result = new ArrayList<>(Math.min(Math.max(limit, 0), roster.byStudent.size()));
+        for (RankEntry entry : roster.ordered) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Entries of a course that follow the keyset cursor (afterGrade, afterId) in ranking order
+     * Seeks into the skip list instead of scanning the roster; without a cursor the page
+     * starts at the highest ranked student.
+     * Time Complexity: O(log n + k), without blocking concurrent updates
+     */
+    public List<RankEntry> page(String courseId, Double afterGrade, Long afterId, int limit) {
+        CourseRanking roster = roster(courseId);
+        NavigableSet<RankEntry> following = afterGrade != null && afterId != null
+                ? roster.ordered.tailSet(new RankEntry(afterId, null, afterGrade), false)
+                : roster.ordered;
+        List<RankEntry> result = new ArrayList<>(Math.min(Math.max(limit, 0), roster.byStudent.size()));
+        for (RankEntry entry : following) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Aggregates of a course: count, sum, highest, lowest and histogram of average grades
+     * Time Complexity: O(1)
+     */
+    public Aggregates aggregates(String courseId) {
+        return roster(courseId).aggregates();
+    }
+
+    /**
+     * Aggregates of a course, loading it into the index on first use
+     * Unlike aggregates(), returns null instead of an uncached roster when the course kept
+     * changing during every load attempt, so the caller can fall back to a cheaper aggregate query.
+     * Time Complexity: O(1) once loaded, O(n log n) for the initial load
+     */
+    public Aggregates cachedAggregates(String courseId) {
+        CourseRanking roster = roster(courseId, true);
+        return roster != null ? roster.aggregates() : null;
+    }
+
+    /**
+     * Record an enrollment once the current transaction commits
+     * Time Complexity: O(log n)
+     */
+    public void studentEnrolled(String courseId, Long studentKey, String studentId, Double averageGrade) {
+        RankEntry entry = new RankEntry(studentKey, studentId, averageGrade);
+        afterCommit(() -> applyToCourse(courseId, roster -> roster.add(entry)));
+    }
+
+    /**
+     * Record a batch of enrollments once the current transaction commits
+     * Time Complexity: O(k log n) for k new entries
+     */
+    public void studentsEnrolled(String courseId, List<RankEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> applyToCourse(courseId, roster -> {
+            for (RankEntry entry : entries) {
+                roster.add(entry);
+            }
+        }));
+    }
+
+    /**
+     * Record an unenrollment once the current transaction commits
+     * Time Complexity: O(log n)
+     */
+    public void studentUnenrolled(String courseId, String studentId) {
+        afterCommit(() -> applyToCourse(courseId, roster -> roster.remove(studentId)));
+    }
+
+    /**
+     * Reposition a student in every loaded course after an average grade change
+     * Time Complexity: O(c log n) where c is the number of loaded courses
+     */
+    public void gradeChanged(String studentId, Double averageGrade) {
+        double grade = averageGrade != null ? averageGrade : 0.0;
+        afterCommit(() -> applyToAllCourses(roster -> roster.reposition(studentId, grade)));
+    }
+
+    /**
+     * Drop a student from every loaded course
+     * Time Complexity: O(c log n)
+     */
+    public void studentRemoved(String studentId) {
+        afterCommit(() -> applyToAllCourses(roster -> roster.remove(studentId)));
+    }
+
+    /**
+     * Forget a course so it is reloaded on next use
+     * Time Complexity: O(1)
+     */
+    public void evictCourse(String courseId) {
+        afterCommit(() -> {
+            courseStamps.incrementAndGet(stripe(courseId));
+            rosters.remove(courseId);
+        });
+    }
+
+    /**
+     * Forget all courses (e.g. after bulk changes made outside the service layer)
+     * Time Complexity: O(1)
+     */
+    public void evictAll() {
+        afterCommit(() -> {
+            allCoursesStamp.incrementAndGet();
+            rosters.clear();
+        });
+    }
+
+    /**
+     * Get the roster of a course, loading it from the database on first use
+     * The query runs outside the map so no lock is held while it executes; concurrent first
+     * uses may load the same course, and the first roster published wins. A load that raced
+     * with a committed change is discarded and retried; after LOAD_ATTEMPTS it is returned
+     * for this call only, without being cached.
+     * Time Complexity: O(n log n) for the initial load, O(1) afterwards
+     */
+    private CourseRanking roster(String courseId) {
+        return roster(courseId, false);
+    }
+
+    /**
+     * Get the roster of a course, loading it on first use
+     * @param cachedOnly return null rather than a roster that could not be cached
+     */
+    private CourseRanking roster(String courseId, boolean cachedOnly) {
+        CourseRanking roster = rosters.get(courseId);
+        if (roster != null) {
+            return roster;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long stamp = stamp(courseId);
+            roster = new CourseRanking();
+            for (Object[] row : studentRepository.findRankEntriesByCourseId(courseId)) {
+                roster.add(new RankEntry((Long) row[0], (String) row[1], (Double) row[2]));
+            }
+            CourseRanking published = rosters.putIfAbsent(courseId, roster);
+            if (published != null) {
+                return published;
+            }
+            if (stamp(courseId) == stamp) {
+                return roster;
+            }
+            // A change committed while loading may be missing from the rows read: unpublish it
+            rosters.remove(courseId, roster);
+            if (attempt >= LOAD_ATTEMPTS) {
+                return cachedOnly ? null : roster;
+            }
+        }
+    }
+
+    /**
+     * Apply a committed change to a course if it is loaded
+     * The stamp is bumped first, so a load in progress either sees the change in its
+     * rows, is published before the change looks it up, or notices the stamp and retries.
+     */
+    private void applyToCourse(String courseId, Consumer<CourseRanking> change) {
+        courseStamps.incrementAndGet(stripe(courseId));
+        CourseRanking roster = rosters.get(courseId);
+        if (roster != null) {
+            change.accept(roster);
+        }
+    }
+
+    /**
+     * Apply a committed change to every loaded course
+     */
+    private void applyToAllCourses(Consumer<CourseRanking> change) {
+        allCoursesStamp.incrementAndGet();
+        for (CourseRanking roster : rosters.values()) {
+            change.accept(roster);
+        }
+    }
+
+    private long stamp(String courseId) {
+        return courseStamps.get(stripe(courseId)) + allCoursesStamp.get();
+    }
+
+    private static int stripe(String courseId) {
+        return Math.floorMod(courseId.hashCode(), STAMP_STRIPES);
+    }
+
+    static int bucket(double grade) {
+        return Math.min(Math.max((int) (grade / 10.0), 0), HISTOGRAM_BUCKETS - 1);
+    }
+
+    /**
+     * Ranked entries of one course with running aggregates
+     * Entries live in a lock-free skip list ordered by grade, with a hash index by student.
+     * Updates to one student are made atomic by ConcurrentHashMap.compute on that student's
+     * key only, so different students are enrolled and regraded in parallel.
+     * Writers never touch the order-statistic tree used for rank queries: they only mark
+     * the changed student ID as pending. The next rank lookup replays the pending IDs against
+     * the hash index under the tree's monitor, so the tree cost is paid by readers, one
+     * O(log n) step per changed student. Repeated changes to a student before the next lookup
+     * collapse into one pending ID, so the pending set never outgrows the course.
+     * Top-K and aggregate readers never block; counts, sum and histogram are weakly
+     * consistent while updates are in flight.
+     */
+    private static class CourseRanking {
+        final ConcurrentSkipListSet<RankEntry> ordered = new ConcurrentSkipListSet<>(RankEntry.ORDER);
+        final Map<String, RankEntry> byStudent = new ConcurrentHashMap<>();
+        final AtomicIntegerArray histogram = new AtomicIntegerArray(HISTOGRAM_BUCKETS);
+        final DoubleAdder gradeSum = new DoubleAdder();
+        // Students changed since the rank tree was last brought up to date
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        // Set until the first rank lookup builds the tree, so loading a roster marks nothing pending
+        private volatile boolean rebuildRanks = true;
+        // Guarded by its own monitor and only touched by rank lookups
+        private final RankedRoster<RankEntry> ranked =
+                new RankedRoster<>(RankEntry::getStudentId, RankEntry::getAverageGrade, RankEntry::getId);
+
+        void add(RankEntry entry) {
+            byStudent.compute(entry.getStudentId(), (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                ordered.add(entry);
+                count(entry, 1);
+                return entry;
+            });
+            changed(entry.getStudentId());
+        }
+
+        void remove(String studentId) {
+            byStudent.computeIfPresent(studentId, (id, current) -> {
+                ordered.remove(current);
+                count(current, -1);
+                return null;
+            });
+            changed(studentId);
+        }
+
+        void reposition(String studentId, double averageGrade) {
+            byStudent.computeIfPresent(studentId, (id, current) -> {
+                if (Double.compare(current.getAverageGrade(), averageGrade) == 0) {
+                    return current;
+                }
+                RankEntry entry = new RankEntry(current.getId(), id, averageGrade);
+                ordered.remove(current);
+                ordered.add(entry);
+                count(current, -1);
+                count(entry, 1);
+                return entry;
+            });
+            changed(studentId);
+        }
+
+        /**
+         * Mark a student whose entry changed, after the change is visible in byStudent
+         * Time Complexity: O(1)
+         */
+        private void changed(String studentId) {
+            if (!rebuildRanks) {
+                pending.add(studentId);
+            }
+        }
+
+        int rankOf(String studentId) {
+            synchronized (ranked) {
+                catchUp();
+                int position = ranked.indexOf(studentId);
+                return position >= 0 ? position + 1 : -1;
+            }
+        }
+
+        /**
+         * Bring the rank tree up to date with byStudent; caller holds the tree's monitor
+         * Each pending ID is unmarked before its current entry is read, so a change that
+         * lands after the read marks it again for the next lookup.
+         * Time Complexity: O(k log n) for k changed students, O(n log n) for the first build
+         */
+        private void catchUp() {
+            if (rebuildRanks) {
+                rebuildRanks = false;
+                for (RankEntry entry : byStudent.values()) {
+                    ranked.add(entry);
+                }
+                return;
+            }
+            Iterator<String> changedIds = pending.iterator();
+            while (changedIds.hasNext()) {
+                String id = changedIds.next();
+                changedIds.remove();
+                RankEntry current = byStudent.get(id);
+                if (current == null) {
+                    ranked.remove(id);
+                } else if (ranked.reposition(current) == null) {
+                    ranked.add(current);
+                }
+            }
+        }
+
+        Aggregates aggregates() {
+            RankEntry highest = ordered.isEmpty() ? null : ordered.first();
+            RankEntry lowest = ordered.isEmpty() ? null : ordered.last();
+            int count = byStudent.size();
+            if (count == 0 || highest == null || lowest == null) {
+                return new Aggregates(0, 0.0, 0.0, 0.0, new int[HISTOGRAM_BUCKETS]);
+            }
+            int[] buckets = new int[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new Aggregates(count, gradeSum.sum(), highest.getAverageGrade(), lowest.getAverageGrade(), buckets);
+        }
+
+        private void count(RankEntry entry, int delta) {
+            histogram.addAndGet(bucket(entry.getAverageGrade()), delta);
+            gradeSum.add(delta * entry.getAverageGrade());
+        }
+    }
+
+    /**
+     * Immutable (id, studentId, averageGrade) entry stored in the index
+     */
+    public static class RankEntry {
+        /**
+         * Ranking order: higher grade first, then ascending primary key, the same order as
+         * the roster queries (ORDER BY averageGrade DESC, id ASC) and the roster page cursor
+         */
+        static final Comparator<RankEntry> ORDER = Comparator
+                .comparingDouble(RankEntry::getAverageGrade).reversed()
+                .thenComparingLong(RankEntry::getId);
+
+        private final long id;
+        private final String studentId;
+        private final double averageGrade;
+
+        public RankEntry(Long id, String studentId, Double averageGrade) {
+            this.id = id;
+            this.studentId = studentId;
+            this.averageGrade = averageGrade != null ? averageGrade : 0.0;
+        }
+
+        /**
+         * Primary key of the student, only used for ordering and the roster page cursor and not serialized
+         */
+        @JsonIgnore
+        public long getId() { return id; }
+
+        // Getters
+        public String getStudentId() { return studentId; }
+        public double getAverageGrade() { return averageGrade; }
+    }
+
+    /**
+     * Snapshot of a course's aggregates
+     */
+    public static class Aggregates {
+        private final int count;
+        private final double sum;
+        private final double highest;
+        private final double lowest;
+        private final int[] histogram;
+
+        public Aggregates(int count, double sum, double highest, double lowest, int[] histogram) {
+            this.count = count;
+            this.sum = sum;
+            this.highest = highest;
+            this.lowest = lowest;
+            this.histogram = histogram;
+        }
+
+        public int getCount() { return count; }
+        public double getSum() { return sum; }
+        public double getHighest() { return highest; }
+        public double getLowest() { return lowest; }
+        public int[] getHistogram() { return histogram; }
+    }
+}
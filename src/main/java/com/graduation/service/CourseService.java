@@ -1,17 +1,29 @@
 package com.graduation.service;
 
+import com.graduation.datastructures.GradeList;
+import com.graduation.dto.CourseSummary;
+import com.graduation.dto.StudentSummary;
 import com.graduation.entity.Course;
 import com.graduation.entity.Student;
 import com.graduation.repository.CourseRepository;
 import com.graduation.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Activity 1: Course Service
@@ -22,6 +34,9 @@ import java.util.Optional;
 @Transactional
 public class CourseService {
 
+    private static final String INSERT_ENROLLMENT_SQL =
+            "INSERT INTO course_student (course_id, student_id) VALUES (?, ?)";
+
     @Autowired
     private CourseRepository courseRepository;
 
@@ -31,12 +46,30 @@ public class CourseService {
     @Autowired
     private com.graduation.repository.GradeRepository gradeRepository;
 
+    @Autowired
+    private CourseRankingIndex rankingIndex;
+
+    @Autowired
+    private EntityLookupCache lookupCache;
+
+    @Autowired
+    private OptimisticRetryTemplate optimisticRetry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RosterChangeLog rosterChangeLog;
+
     /**
      * Create a new course
      * Time Complexity: O(1) for database insert
      */
     public Course createCourse(String courseId, String academicYear) {
-        if (courseRepository.existsByCourseId(courseId)) {
+        if (lookupCache.courseExists(courseId)) {
             throw new IllegalArgumentException("Course with ID " + courseId + " already exists");
         }
 
@@ -55,74 +88,366 @@ public class CourseService {
     /**
      * Add student to course and maintain descending order by average grade
      * Activity 1 Requirement: Maintain list in descending order based on student average grade
-     * Time Complexity: O(n log n) due to sorting after insertion
+     * Writes the single course_student row directly instead of loading and re-saving the roster;
+     * the descending order is kept by the ranking index. Enrolling twice is a no-op.
+     * The course row and its version are not touched, so enrollments never conflict optimistically;
+     * the only race is two inserts of the same row, and the loser runs again in a new transaction.
+     * Time Complexity: O(log n) for the primary key check and insert, O(log n) for ranked insertion
      */
-    public Course addStudentToCourse(String courseId, String studentId) {
-        Course course = courseRepository.findByCourseIdWithStudents(courseId)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Enrollment addStudentToCourse(String courseId, String studentId) {
+        try {
+            return transactionTemplate.execute(status -> enroll(courseId, studentId));
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent enrollment of the same student: the row exists now
+            return transactionTemplate.execute(status -> enroll(courseId, studentId));
+        }
+    }
+
+    private Enrollment enroll(String courseId, String studentId) {
+        Long courseKey = lookupCache.courseKey(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        Student student = studentRepository.findByStudentId(studentId)
+        Student student = lookupCache.findStudent(studentId)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
 
-        course.addStudent(student);
-        return courseRepository.save(course);
+        if (courseRepository.countEnrollment(courseKey, student.getId()) == 0) {
+            courseRepository.insertEnrollment(courseKey, student.getId());
+            rankingIndex.studentEnrolled(courseId, student.getId(), studentId, student.getAverageGrade());
+            rosterChangeLog.enrolled(courseId, studentId, student.getAverageGrade());
+        }
+        return new Enrollment(courseId, studentId, student.getAverageGrade(), true);
     }
 
     /**
      * Remove student from course
      * Activity 1 Requirement: Allow students to be removed from the student list
-     * Time Complexity: O(n) for removal and printing
+     * Deletes the single course_student row directly; removing a student who is not enrolled is a no-op
+     * Time Complexity: O(log n) for the delete, O(log n) to drop the student from the ranking index
      */
-    public Course removeStudentFromCourse(String courseId, String studentId) {
-        Course course = courseRepository.findByCourseIdWithStudents(courseId)
+    public Enrollment removeStudentFromCourse(String courseId, String studentId) {
+        Long courseKey = lookupCache.courseKey(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        course.removeStudentById(studentId);
-        return courseRepository.save(course);
+        Student student = lookupCache.findStudent(studentId)
+                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
+
+        if (courseRepository.deleteEnrollment(courseKey, student.getId()) > 0) {
+            rankingIndex.studentUnenrolled(courseId, studentId);
+            rosterChangeLog.unenrolled(courseId, studentId);
+        }
+        return new Enrollment(courseId, studentId, student.getAverageGrade(), false);
     }
 
     /**
-     * Update student grades for a specific course and resort the course student list
-     * Activity 1 Requirement: Allow grades to be updated and reflect in ordering
-     * Time Complexity: O(n log n) due to sorting
+     * Enroll a cohort of students in one pass
+     * Activity 1 Requirement: Maintain list in descending order based on student average grade
+     * Student IDs are resolved with one IN query and existing enrollments with another; the
+     * missing course_student rows are inserted as one JDBC batch and the ranking index is
+     * updated once after commit. Unknown and already enrolled students are reported, not failed.
+     * Time Complexity: O(k log n) for k requested students, with a constant number of round trips
      */
-    public Course updateStudentGrades(String courseId, String studentId, List<Double> newGrades) {
-        Course course = courseRepository.findByCourseIdWithStudents(courseId)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchEnrollment addStudentsToCourse(String courseId, List<String> studentIds) {
+        try {
+            return transactionTemplate.execute(status -> enrollAll(courseId, studentIds));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request enrolled some of the same students: skip them this time
+            return transactionTemplate.execute(status -> enrollAll(courseId, studentIds));
+        }
+    }
+
+    private BatchEnrollment enrollAll(String courseId, List<String> studentIds) {
+        Long courseKey = lookupCache.courseKey(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
+        Set<String> requested = new LinkedHashSet<>();
+        for (String studentId : studentIds) {
+            if (studentId != null) {
+                requested.add(studentId);
+            }
+        }
+        BatchEnrollment result = new BatchEnrollment(courseId, requested.size());
+        if (requested.isEmpty()) {
+            return result;
+        }
 
-        // Delete existing grades for this course
-        student.getGrades().removeIf(grade -> grade.getCourse().getId().equals(course.getId()));
+        // studentId -> [primary key, average grade]
+        Map<String, Object[]> found = new HashMap<>();
+        for (Object[] row : studentRepository.findKeysByStudentIdIn(requested)) {
+            found.put((String) row[0], new Object[]{row[1], row[2]});
+        }
+        Set<Long> alreadyEnrolled = found.isEmpty() ? Collections.emptySet() : new HashSet<>(
+                courseRepository.findEnrolledStudentKeys(courseKey,
+                        found.values().stream().map(key -> (Long) key[0]).toList()));
+
+        List<Object[]> rows = new ArrayList<>();
+        List<CourseRankingIndex.RankEntry> entries = new ArrayList<>();
+        for (String studentId : requested) {
+            Object[] key = found.get(studentId);
+            if (key == null) {
+                result.notFound.add(studentId);
+            } else if (alreadyEnrolled.contains((Long) key[0])) {
+                result.alreadyEnrolled.add(studentId);
+            } else {
+                rows.add(new Object[]{courseKey, key[0]});
+                entries.add(new CourseRankingIndex.RankEntry((Long) key[0], studentId, (Double) key[1]));
+                result.enrolled.add(studentId);
+            }
+        }
 
-        // Add new grades for this course
-        for (Double gradeValue : newGrades) {
-            com.graduation.entity.Grade grade = new com.graduation.entity.Grade(student, course, gradeValue);
-            student.getGrades().add(grade);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ENROLLMENT_SQL, rows);
+            rankingIndex.studentsEnrolled(courseId, entries);
+            for (CourseRankingIndex.RankEntry entry : entries) {
+                rosterChangeLog.enrolled(courseId, entry.getStudentId(), entry.getAverageGrade());
+            }
         }
+        return result;
+    }
 
-        // Update student's average grade after grade changes
-        updateStudentAverageGrade(student);
-        studentRepository.save(student);
-        course.updateStudentGrades(student);
+    /**
+     * Inner class for the result of an enrollment change
+     */
+    public static class Enrollment {
+        private final String courseId;
+        private final String studentId;
+        private final double averageGrade;
+        private final boolean enrolled;
 
-        return courseRepository.save(course);
+        public Enrollment(String courseId, String studentId, Double averageGrade, boolean enrolled) {
+            this.courseId = courseId;
+            this.studentId = studentId;
+            this.averageGrade = averageGrade != null ? averageGrade : 0.0;
+            this.enrolled = enrolled;
+        }
+
+        // Getters
+        public String getCourseId() { return courseId; }
+        public String getStudentId() { return studentId; }
+        public double getAverageGrade() { return averageGrade; }
+        public boolean isEnrolled() { return enrolled; }
+    }
+
+    /**
+     * Inner class for the outcome of a batch enrollment
+     */
+    public static class BatchEnrollment {
+        private final String courseId;
+        private final int requested;
+        private final List<String> enrolled = new ArrayList<>();
+        private final List<String> alreadyEnrolled = new ArrayList<>();
+        private final List<String> notFound = new ArrayList<>();
+
+        public BatchEnrollment(String courseId, int requested) {
+            this.courseId = courseId;
+            this.requested = requested;
+        }
+
+        // Getters
+        public String getCourseId() { return courseId; }
+        public int getRequested() { return requested; }
+        public List<String> getEnrolled() { return enrolled; }
+        public List<String> getAlreadyEnrolled() { return alreadyEnrolled; }
+        public List<String> getNotFound() { return notFound; }
+    }
+
+    /**
+     * Update student grades for a specific course and reposition the student in the roster
+     * Activity 1 Requirement: Allow grades to be updated and reflect in ordering
+     * The roster is not loaded: the ranking index repositions the student after commit
+     * Time Complexity: O(g) for the g new grades, O(log n) for repositioning
+     * Retried on optimistic lock conflicts, each attempt in its own transaction
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Student updateStudentGrades(String courseId, String studentId, GradeList newGrades) {
+        return optimisticRetry.execute("course.updateStudentGrades", () -> {
+            Course course = lookupCache.courseReference(courseId)
+                    .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
+
+            Student student = lookupCache.findStudent(studentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
+
+            // Delete existing grades for this course, remembering their totals
+            Object[] removed = gradeRepository.findGradeTotalsByStudentAndCourse(student.getId(), course.getId()).get(0);
+            gradeRepository.deleteByStudentAndCourse(student.getId(), course.getId());
+
+            // Add new grades for this course
+            for (int i = 0; i < newGrades.size(); i++) {
+                gradeRepository.save(new com.graduation.entity.Grade(student, course, newGrades.get(i)));
+            }
+
+            // Update student's running totals and average grade by the delta
+            Double previousGrade = student.getAverageGrade();
+            student.applyGradesReplaced(((Number) removed[0]).intValue(), ((Number) removed[1]).doubleValue(),
+                    newGrades.size(), newGrades.sum());
+            Student saved = studentRepository.save(student);
+            rankingIndex.gradeChanged(studentId, student.getAverageGrade());
+            rosterChangeLog.regraded(courseId, studentId, previousGrade, student.getAverageGrade());
+
+            return saved;
+        });
     }
 
     /**
      * Get course students in descending order by average grade
      * Activity 1 Requirement: Support ordering by average grade
-     * Time Complexity: O(n log n) for sorting
+     * Time Complexity: O(n) index-ordered scan, one query returning only the summary columns
      */
-    public List<Student> getCourseStudentsOrderedByGrade(String courseId) {
-        Course course = courseRepository.findByCourseIdWithStudents(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
+    public List<StudentSummary> getCourseStudentsOrderedByGrade(String courseId) {
+        if (!lookupCache.courseExists(courseId)) {
+            throw new IllegalArgumentException("Course not found: " + courseId);
+        }
 
-        List<Student> students = course.getStudents();
-        // Sort in descending order (highest grades first)
-        students.sort((s1, s2) -> s2.compareTo(s1));
-        return students;
+        return studentRepository.findSummariesByCourseIdOrderByAverageGradeDesc(courseId);
+    }
+
+    /**
+     * Get one page of course students in descending order by average grade
+     * Keyset pagination: the page starts right after the (averageGrade, id) cursor, so no rows are
+     * skipped with OFFSET and pages stay stable while the roster changes. The order comes from the
+     * course rank index, which seeks to the cursor in its skip list, and the k students of the page
+     * are then read by primary key; the course's enrollments are never read or sorted per page.
+     * Time Complexity: O(log n + k log N) per page, independent of the page position
+     */
+    public RosterPage getCourseStudentsPage(String courseId, Double afterGrade, Long afterId, int size) {
+        if (!lookupCache.courseExists(courseId)) {
+            throw new IllegalArgumentException("Course not found: " + courseId);
+        }
+
+        // Fetch one extra entry to know whether another page follows
+        List<CourseRankingIndex.RankEntry> entries = rankingIndex.page(courseId, afterGrade, afterId, size + 1);
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = entries.subList(0, size);
+        }
+
+        List<StudentSummary> students = new ArrayList<>(entries.size());
+        if (!entries.isEmpty()) {
+            Map<Long, StudentSummary> byKey = new HashMap<>();
+            for (StudentSummary summary : studentRepository.findSummariesByIdIn(
+                    entries.stream().map(CourseRankingIndex.RankEntry::getId).toList())) {
+                byKey.put(summary.getId(), summary);
+            }
+            for (CourseRankingIndex.RankEntry entry : entries) {
+                StudentSummary summary = byKey.get(entry.getId());
+                if (summary != null) {
+                    students.add(summary);
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CourseRankingIndex.RankEntry last = entries.get(entries.size() - 1);
+            nextCursor = RosterPage.encodeCursor(last.getAverageGrade(), last.getId());
+        }
+        return new RosterPage(courseId, students, size, nextCursor);
+    }
+
+    /**
+     * Inner class for one keyset page of a course roster
+     */
+    public static class RosterPage {
+        private final String courseId;
+        private final List<StudentSummary> students;
+        private final int pageSize;
+        private final String nextCursor;
+
+        public RosterPage(String courseId, List<StudentSummary> students, int pageSize, String nextCursor) {
+            this.courseId = courseId;
+            this.students = students;
+            this.pageSize = pageSize;
+            this.nextCursor = nextCursor;
+        }
+
+        /**
+         * Cursor format: "averageGrade:id" of the last student on the page
+         */
+        public static String encodeCursor(double averageGrade, Long id) {
+            return averageGrade + ":" + id;
+        }
+
+        // Getters
+        public String getCourseId() { return courseId; }
+        public List<StudentSummary> getStudents() { return students; }
+        public int getPageSize() { return pageSize; }
+        public String getNextCursor() { return nextCursor; }
+        public boolean isHasMore() { return nextCursor != null; }
+    }
+
+    /**
+     * Get a student's rank and percentile within a course
+     * Time Complexity: O(log n) using the course rank index
+     */
+    public CourseRank getStudentRank(String courseId, String studentId) {
+        if (!lookupCache.courseExists(courseId)) {
+            throw new IllegalArgumentException("Course not found: " + courseId);
+        }
+
+        int rank = rankingIndex.rankOf(courseId, studentId);
+        CourseRankingIndex.RankEntry entry = rankingIndex.entryOf(courseId, studentId);
+        if (rank < 0 || entry == null) {
+            throw new IllegalArgumentException("Student " + studentId + " is not enrolled in course " + courseId);
+        }
+
+        int studentCount = rankingIndex.size(courseId);
+        // Share of the class ranked at or below this student
+        double percentile = 100.0 * (studentCount - rank + 1) / studentCount;
+        return new CourseRank(courseId, studentId, rank, studentCount, entry.getAverageGrade(), percentile);
+    }
+
+    /**
+     * Get the top K students of a course
+     * Time Complexity: O(k + log n) using the course rank index
+     */
+    public List<CourseRankingIndex.RankEntry> getTopStudents(String courseId, int limit) {
+        if (!lookupCache.courseExists(courseId)) {
+            throw new IllegalArgumentException("Course not found: " + courseId);
+        }
+        return rankingIndex.top(courseId, limit);
+    }
+
+    /**
+     * Get the students in the top given percent of a course
+     * Time Complexity: O(k + log n) using the course rank index
+     */
+    public List<CourseRankingIndex.RankEntry> getTopPercentStudents(String courseId, double percent) {
+        if (!lookupCache.courseExists(courseId)) {
+            throw new IllegalArgumentException("Course not found: " + courseId);
+        }
+        int limit = (int) Math.ceil(rankingIndex.size(courseId) * Math.min(Math.max(percent, 0.0), 100.0) / 100.0);
+        return rankingIndex.top(courseId, limit);
+    }
+
+    /**
+     * Inner class for a student's position within a course
+     */
+    public static class CourseRank {
+        private final String courseId;
+        private final String studentId;
+        private final int rank;
+        private final int studentCount;
+        private final double averageGrade;
+        private final double percentile;
+
+        public CourseRank(String courseId, String studentId, int rank, int studentCount,
+                          double averageGrade, double percentile) {
+            this.courseId = courseId;
+            this.studentId = studentId;
+            this.rank = rank;
+            this.studentCount = studentCount;
+            this.averageGrade = averageGrade;
+            this.percentile = percentile;
+        }
+
+        // Getters
+        public String getCourseId() { return courseId; }
+        public String getStudentId() { return studentId; }
+        public int getRank() { return rank; }
+        public int getStudentCount() { return studentCount; }
+        public double getAverageGrade() { return averageGrade; }
+        public double getPercentile() { return percentile; }
     }
 
     /**
@@ -139,50 +464,64 @@ public class CourseService {
 
     /**
      * Get course statistics
-     * Time Complexity: O(n) for calculations
+     * Served from the in-memory aggregates of the course rank index; the first call for a course
+     * loads it into the index, so later statistics, rank and page lookups are served from memory.
+     * Falls back to one aggregate query when the course kept changing while it was being loaded.
+     * Never hydrates Student entities.
+     * Time Complexity: O(1) when indexed, O(n log n) for the first load
      */
     public CourseStatistics getCourseStatistics(String courseId) {
-        Course course = courseRepository.findByCourseIdWithStudents(courseId)
+        Course course = lookupCache.findCourse(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        List<Student> students = course.getStudents();
-        int studentCount = students.size();
+        CourseRankingIndex.Aggregates aggregates = rankingIndex.cachedAggregates(courseId);
+        if (aggregates == null) {
+            aggregates = aggregateCourseGrades(courseId);
+        }
+        int studentCount = aggregates.getCount();
 
         if (studentCount == 0) {
-            return new CourseStatistics(courseId, course.getAcademicYear(), 0, 0.0, 0.0, 0.0, 0.0);
+            return new CourseStatistics(courseId, course.getAcademicYear(), 0, 0.0, 0.0, 0.0, 0.0,
+                                        aggregates.getHistogram());
         }
 
-        double totalAverage = students.stream()
-                .mapToDouble(s -> s.getAverageGrade() != null ? s.getAverageGrade() : 0.0)
-                .sum();
-        double classAverage = totalAverage / studentCount;
-
-        double highestAverage = students.stream()
-                .mapToDouble(s -> s.getAverageGrade() != null ? s.getAverageGrade() : 0.0)
-                .max()
-                .orElse(0.0);
-
-        double lowestAverage = students.stream()
-                .mapToDouble(s -> s.getAverageGrade() != null ? s.getAverageGrade() : 0.0)
-                .min()
-                .orElse(0.0);
-
         return new CourseStatistics(courseId, course.getAcademicYear(), studentCount,
-                                  classAverage, highestAverage, lowestAverage, totalAverage);
+                                  aggregates.getSum() / studentCount, aggregates.getHighest(),
+                                  aggregates.getLowest(), aggregates.getSum(), aggregates.getHistogram());
+    }
+
+    /**
+     * Compute course aggregates in the database, combining the per-bucket rows
+     * Fallback for courses the rank index could not cache
+     * Time Complexity: O(n) in the database, O(1) in memory
+     */
+    private CourseRankingIndex.Aggregates aggregateCourseGrades(String courseId) {
+        int count = 0;
+        double sum = 0.0;
+        double highest = 0.0;
+        double lowest = 0.0;
+        int[] histogram = new int[CourseRankingIndex.HISTOGRAM_BUCKETS];
+
+        for (Object[] row : courseRepository.findGradeBucketsByCourseId(courseId)) {
+            int bucketCount = ((Number) row[1]).intValue();
+            double bucketMin = ((Number) row[3]).doubleValue();
+            double bucketMax = ((Number) row[4]).doubleValue();
+
+            histogram[CourseRankingIndex.bucket(((Number) row[0]).doubleValue() * 10.0)] += bucketCount;
+            highest = count == 0 ? bucketMax : Math.max(highest, bucketMax);
+            lowest = count == 0 ? bucketMin : Math.min(lowest, bucketMin);
+            count += bucketCount;
+            sum += ((Number) row[2]).doubleValue();
+        }
+        return new CourseRankingIndex.Aggregates(count, sum, highest, lowest, histogram);
     }
 
     /**
      * Get all courses with their student counts
-     * Time Complexity: O(n) for database query
+     * Time Complexity: O(n) for one aggregate query, no rosters are loaded
      */
     public List<CourseSummary> getAllCoursesSummary() {
-        List<Object[]> results = courseRepository.findAllWithStudentCounts();
-        return results.stream()
-                .map(row -> new CourseSummary(
-                        (Course) row[0],
-                        ((Long) row[1]).intValue()
-                ))
-                .toList();
+        return courseRepository.findAllSummaries();
     }
 
     /**
@@ -196,10 +535,11 @@ public class CourseService {
         private final double highestAverage;
         private final double lowestAverage;
         private final double totalAverageSum;
+        private final int[] gradeHistogram;
 
         public CourseStatistics(String courseId, String academicYear, int studentCount,
                               double classAverage, double highestAverage, double lowestAverage,
-                              double totalAverageSum) {
+                              double totalAverageSum, int[] gradeHistogram) {
             this.courseId = courseId;
             this.academicYear = academicYear;
             this.studentCount = studentCount;
@@ -207,6 +547,7 @@ public class CourseService {
             this.highestAverage = highestAverage;
             this.lowestAverage = lowestAverage;
             this.totalAverageSum = totalAverageSum;
+            this.gradeHistogram = gradeHistogram;
         }
 
         // Getters
@@ -217,6 +558,8 @@ public class CourseService {
         public double getHighestAverage() { return highestAverage; }
         public double getLowestAverage() { return lowestAverage; }
         public double getTotalAverageSum() { return totalAverageSum; }
+        /** Student counts per 10-point average grade bucket, [0,10) first */
+        public int[] getGradeHistogram() { return gradeHistogram; }
     }
 
     /**
@@ -224,45 +567,28 @@ public class CourseService {
      * Time Complexity: O(n) for database operations
      */
     public void deleteCourse(String courseId) {
-        Course course = courseRepository.findByCourseId(courseId)
+        Course course = lookupCache.findCourse(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        // Get all students enrolled in this course to update their average grades later
-        List<Student> enrolledStudents = new ArrayList<>(course.getStudents());
+        // Totals of the grades that will disappear with the course, per student
+        List<Object[]> removedTotals = gradeRepository.findGradeTotalsPerStudentByCourse(course.getId());
 
         // Delete the course (this will cascade delete grades due to foreign key constraints)
         // But we need to manually handle course_student relationships
         courseRepository.delete(course);
 
-        // Update average grades for all students who were enrolled in this course
-        for (Student student : enrolledStudents) {
-            updateStudentAverageGrade(student);
-            studentRepository.save(student);
-        }
-    }
-
-    /**
-     * Update student's average grade
-     * Time Complexity: O(1) for database aggregation
-     */
-    private void updateStudentAverageGrade(Student student) {
-        Double average = gradeRepository.findAverageGradeByStudentId(student.getStudentId());
-        student.setAverageGrade(average != null ? average : 0.0);
-    }
-
-    /**
-     * Inner class for course summary
-     */
-    public static class CourseSummary {
-        private final Course course;
-        private final int studentCount;
+        rankingIndex.evictCourse(courseId);
+        lookupCache.evictCourse(courseId);
 
-        public CourseSummary(Course course, int studentCount) {
-            this.course = course;
-            this.studentCount = studentCount;
+        // Subtract the deleted grades from each affected student's running totals
+        for (Object[] row : removedTotals) {
+            Student student = studentRepository.findById((Long) row[0]).orElse(null);
+            if (student == null) {
+                continue;
+            }
+            student.applyGradesReplaced(((Number) row[1]).intValue(), ((Number) row[2]).doubleValue(), 0, 0.0);
+            studentRepository.save(student);
+            rankingIndex.gradeChanged(student.getStudentId(), student.getAverageGrade());
         }
-
-        public Course getCourse() { return course; }
-        public int getStudentCount() { return studentCount; }
     }
 }
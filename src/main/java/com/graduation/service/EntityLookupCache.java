@@ -0,0 +1,228 @@
+package com.graduation.service;
+
+import com.graduation.datastructures.BoundedCache;
+import com.graduation.entity.Course;
+import com.graduation.entity.Student;
+import com.graduation.repository.CourseRepository;
+import com.graduation.repository.StudentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.graduation.service.TransactionHooks.afterCommit;
+
+/**
+ * Activity 1: Key-resolution cache for student and course lookups by business ID
+ * Caches the mapping from studentId / courseId to the primary key, which never changes
+ * while the row exists. Entity state is never cached across transactions, so it cannot
+ * go stale; there is no second-level cache.
+ * What a hit saves depends on the call: studentKey / courseKey, courseReference and the
+ * exists checks need no query at all, while findStudent / findCourse still load the
+ * entity by primary key (served by the persistence context if it was already loaded in
+ * the same transaction). Callers that only need a foreign key should use the former.
+ * Entries are evicted on delete; create and grade updates do not change the mapping.
+ * Key hits, misses, evictions, size and hit ratio are published as cache.* meters.
+ */
+@Component
+public class EntityLookupCache implements MeterBinder {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final BoundedCache<String, Long> studentKeys;
+    private final BoundedCache<String, Long> courseKeys;
+
+    public EntityLookupCache(@Value("${graduation.cache.lookup.max-size:10000}") int maxSize,
+                             @Value("${graduation.cache.lookup.ttl:PT10M}") Duration ttl) {
+        this.studentKeys = new BoundedCache<>(maxSize, ttl.toMillis());
+        this.courseKeys = new BoundedCache<>(maxSize, ttl.toMillis());
+    }
+
+    /**
+     * Find student by student ID
+     * Time Complexity: one primary key SELECT on a key hit, O(log n) lookup by student ID on a miss
+     */
+    public Optional<Student> findStudent(String studentId) {
+        Long key = studentKeys.get(studentId);
+        if (key != null) {
+            Optional<Student> student = studentRepository.findById(key);
+            if (student.isPresent() && student.get().getStudentId().equals(studentId)) {
+                return student;
+            }
+            studentKeys.invalidate(studentId);
+        }
+        Optional<Student> student = studentRepository.findByStudentId(studentId);
+        student.ifPresent(s -> studentKeys.put(studentId, s.getId()));
+        return student;
+    }
+
+    /**
+     * Find course by course ID (students not loaded)
+     * Time Complexity: one primary key SELECT on a key hit, O(log n) lookup by course ID on a miss
+     */
+    public Optional<Course> findCourse(String courseId) {
+        Long key = courseKeys.get(courseId);
+        if (key != null) {
+            Optional<Course> course = courseRepository.findById(key);
+            if (course.isPresent() && course.get().getCourseId().equals(courseId)) {
+                return course;
+            }
+            courseKeys.invalidate(courseId);
+        }
+        Optional<Course> course = courseRepository.findByCourseId(courseId);
+        course.ifPresent(c -> courseKeys.put(courseId, c.getId()));
+        return course;
+    }
+
+    /**
+     * Resolve the primary key of a student
+     * Time Complexity: O(1) without a query on a hit, O(log n) on a miss
+     */
+    public Optional<Long> studentKey(String studentId) {
+        Long key = studentKeys.get(studentId);
+        if (key != null) {
+            return Optional.of(key);
+        }
+        Optional<Long> found = studentRepository.findIdByStudentId(studentId);
+        found.ifPresent(id -> studentKeys.put(studentId, id));
+        return found;
+    }
+
+    /**
+     * Resolve the primary key of a course
+     * Time Complexity: O(1) without a query on a hit, O(log n) on a miss
+     */
+    public Optional<Long> courseKey(String courseId) {
+        Long key = courseKeys.get(courseId);
+        if (key != null) {
+            return Optional.of(key);
+        }
+        Optional<Long> found = courseRepository.findIdByCourseId(courseId);
+        found.ifPresent(id -> courseKeys.put(courseId, id));
+        return found;
+    }
+
+    /**
+     * Get an uninitialized course reference, e.g. to set a Grade's foreign key
+     * Its state is only read from the database if a property other than the ID is accessed
+     * Time Complexity: O(1) without a query on a hit, O(log n) on a miss
+     */
+    public Optional<Course> courseReference(String courseId) {
+        return courseKey(courseId).map(courseRepository::getReferenceById);
+    }
+
+    /**
+     * Check if a student exists
+     * Time Complexity: O(1) without a query on a hit, O(log n) on a miss
+     */
+    public boolean studentExists(String studentId) {
+        return studentKey(studentId).isPresent();
+    }
+
+    /**
+     * Check if a course exists
+     * Time Complexity: O(1) without a query on a hit, O(log n) on a miss
+     */
+    public boolean courseExists(String courseId) {
+        return courseKey(courseId).isPresent();
+    }
+
+    /**
+     * Evict a deleted student now and again after commit, so a concurrent reader
+     * cannot re-cache the old key before the delete becomes visible
+     */
+    public void evictStudent(String studentId) {
+        studentKeys.invalidate(studentId);
+        afterCommit(() -> studentKeys.invalidate(studentId));
+    }
+
+    /**
+     * Evict a deleted course now and again after commit
+     */
+    public void evictCourse(String courseId) {
+        courseKeys.invalidate(courseId);
+        afterCommit(() -> courseKeys.invalidate(courseId));
+    }
+
+    /**
+     * Register both caches with the meter registry, following Micrometer's cache meter names
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "students", studentKeys);
+        bindCache(registry, "courses", courseKeys);
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, BoundedCache<?, ?> cache) {
+        FunctionCounter.builder("cache.gets", cache, BoundedCache::getHits)
+                .tags("cache", name, "result", "hit")
+                .description("Business ID to primary key resolutions served from memory")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, BoundedCache::getMisses)
+                .tags("cache", name, "result", "miss")
+                .description("Business ID to primary key resolutions that queried the database")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedCache::getEvictions)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", cache, BoundedCache::size)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, BoundedCache::getHitRatio)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Get hit/miss statistics of both caches
+     */
+    public CacheStatistics getStudentStatistics() {
+        return new CacheStatistics("students", studentKeys);
+    }
+
+    public CacheStatistics getCourseStatistics() {
+        return new CacheStatistics("courses", courseKeys);
+    }
+
+    /**
+     * Inner class for cache statistics
+     */
+    public static class CacheStatistics {
+        private final String name;
+        private final int size;
+        private final int maxSize;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final double hitRatio;
+
+        public CacheStatistics(String name, BoundedCache<?, ?> cache) {
+            this.name = name;
+            this.size = cache.size();
+            this.maxSize = cache.getMaxSize();
+            this.hits = cache.getHits();
+            this.misses = cache.getMisses();
+            this.evictions = cache.getEvictions();
+            this.hitRatio = cache.getHitRatio();
+        }
+
+        // Getters
+        public String getName() { return name; }
+        public int getSize() { return size; }
+        public int getMaxSize() { return maxSize; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public double getHitRatio() { return hitRatio; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.graduation.service;
+
+import com.graduation.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Activity 1: Background verifier for running grade totals
+ * Student averages are maintained incrementally from grade_sum / grade_count.
+ * This job periodically compares them with the grade rows and rebuilds any that drifted.
+ */
+@Component
+public class GradeTotalsVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(GradeTotalsVerifier.class);
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRankingIndex rankingIndex;
+
+    /**
+     * Rebuild drifted totals
+     * Time Complexity: O(g) where g is the total number of grades
+     * @return number of students that were corrected
+     */
+    @Transactional
+    @Scheduled(initialDelayString = "${graduation.grades.verify.initial-delay:PT1M}",
+               fixedDelayString = "${graduation.grades.verify.interval:PT1H}")
+    public int verify() {
+        int corrected = studentRepository.rebuildDriftedGradeTotals();
+        if (corrected > 0) {
+            log.info("Grade totals verifier corrected {} student(s)", corrected);
+            rankingIndex.evictAll();
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,149 @@
+package com.graduation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Activity 1: Bounded retry of optimistic lock conflicts
+ * Runs a mutation in its own transaction and, when a concurrent writer bumped the
+ * @Version of a row it read, rolls back and runs it again with randomized exponential
+ * backoff. Rolled back attempts leave no in-memory side effects, since index and cache
+ * updates are deferred until commit.
+ * Conflicts and retries are counted per operation as a contention metric.
+ */
+@Component
+public class OptimisticRetryTemplate {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final Map<String, OperationCounters> counters = new ConcurrentHashMap<>();
+
+    public OptimisticRetryTemplate(PlatformTransactionManager transactionManager,
+                                   @Value("${graduation.retry.optimistic.max-attempts:8}") int maxAttempts,
+                                   @Value("${graduation.retry.optimistic.initial-backoff:PT0.01S}") Duration initialBackoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoffMillis = Math.max(initialBackoff.toMillis(), 1);
+    }
+
+    /**
+     * Run an action in a transaction, retrying it on optimistic lock conflicts
+     * Inside an existing transaction the action runs once, as the caller owns the boundary
+     * @param operation name under which contention is counted
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        OperationCounters operationCounters = counters.computeIfAbsent(operation, OperationCounters::new);
+        operationCounters.calls.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> action.get());
+                if (attempt > 1) {
+                    operationCounters.recovered.increment();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                operationCounters.conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    operationCounters.exhausted.increment();
+                    throw e;
+                }
+                operationCounters.retries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Contention counters of every operation seen so far, ordered by name
+     * Time Complexity: O(k log k) for k operations
+     */
+    public List<ContentionStatistics> getStatistics() {
+        List<ContentionStatistics> statistics = new ArrayList<>();
+        for (OperationCounters operationCounters : new TreeMap<>(counters).values()) {
+            statistics.add(operationCounters.snapshot());
+        }
+        return statistics;
+    }
+
+    /**
+     * Sleep initialBackoff * 2^(attempt - 1), with full jitter so that colliding writers spread out
+     */
+    private void backoff(int attempt) {
+        long ceiling = initialBackoffMillis << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off after attempt " + attempt, e);
+        }
+    }
+
+    private static class OperationCounters {
+        final String operation;
+        final LongAdder calls = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder recovered = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+
+        OperationCounters(String operation) {
+            this.operation = operation;
+        }
+
+        ContentionStatistics snapshot() {
+            return new ContentionStatistics(operation, calls.sum(), conflicts.sum(), retries.sum(),
+                    recovered.sum(), exhausted.sum());
+        }
+    }
+
+    /**
+     * Inner class for per-operation contention statistics
+     */
+    public static class ContentionStatistics {
+        private final String operation;
+        private final long calls;
+        private final long conflicts;
+        private final long retries;
+        private final long recovered;
+        private final long exhausted;
+
+        public ContentionStatistics(String operation, long calls, long conflicts, long retries,
+                                    long recovered, long exhausted) {
+            this.operation = operation;
+            this.calls = calls;
+            this.conflicts = conflicts;
+            this.retries = retries;
+            this.recovered = recovered;
+            this.exhausted = exhausted;
+        }
+
+        // Getters
+        public String getOperation() { return operation; }
+        public long getCalls() { return calls; }
+        public long getConflicts() { return conflicts; }
+        public long getRetries() { return retries; }
+        public long getRecovered() { return recovered; }
+        public long getExhausted() { return exhausted; }
+        public double getConflictsPerCall() { return calls > 0 ? (double) conflicts / calls : 0.0; }
+    }
+}
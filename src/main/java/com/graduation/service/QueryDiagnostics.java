@@ -0,0 +1,277 @@
+package com.graduation.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Interceptor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Activity 1: Per-request query diagnostics
+ * Counts the SQL statements prepared and entities loaded by each HTTP request, aggregates
+ * them per endpoint and flags requests above the configured thresholds, which is how N+1
+ * selects and collection rewrites show up. Statements are counted by the statement
+ * inspector, entity loads by this class as the Hibernate session factory interceptor.
+ * Counters live in a ThreadLocal opened and closed around the request by QueryCountingFilter.
+ * Global Hibernate statistics (hibernate.generate_statistics) supply the slowest queries.
+ */
+@Component
+public class QueryDiagnostics implements Interceptor, HibernatePropertiesCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryDiagnostics.class);
+
+    // [statements, entity loads] of the request running on this thread, null outside requests
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final int statementThreshold;
+    private final int entityLoadThreshold;
+    private final Map<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    public QueryDiagnostics(ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                            @Value("${graduation.diagnostics.queries.statement-threshold:10}") int statementThreshold,
+                            @Value("${graduation.diagnostics.queries.entity-load-threshold:100}") int entityLoadThreshold) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statementThreshold = statementThreshold;
+        this.entityLoadThreshold = entityLoadThreshold;
+    }
+
+    /**
+     * Register this class as the session factory interceptor
+     */
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+    }
+
+    /**
+     * Count an entity hydrated by the current request; the entity state is never changed
+     */
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        int[] counts = CURRENT.get();
+        if (counts != null) {
+            counts[1]++;
+        }
+        return false;
+    }
+
+    /**
+     * Count a statement prepared by the current request
+     * Time Complexity: O(1)
+     */
+    public void statementPrepared() {
+        int[] counts = CURRENT.get();
+        if (counts != null) {
+            counts[0]++;
+        }
+    }
+
+    /**
+     * Start counting for the request running on this thread
+     */
+    public void beginRequest() {
+        CURRENT.set(new int[2]);
+    }
+
+    /**
+     * Stop counting and add the request to its endpoint's totals
+     * @param endpoint request method and matched path pattern, e.g. "GET /api/courses/{courseId}/students"
+     */
+    public void endRequest(String endpoint, long elapsedNanos) {
+        int[] counts = CURRENT.get();
+        CURRENT.remove();
+        if (counts == null || endpoint == null) {
+            return;
+        }
+
+        boolean flagged = counts[0] > statementThreshold || counts[1] > entityLoadThreshold;
+        endpoints.computeIfAbsent(endpoint, EndpointCounters::new).record(counts[0], counts[1], elapsedNanos, flagged);
+        if (flagged) {
+            log.warn("{} ran {} statement(s) and loaded {} entities (thresholds {} / {})",
+                    endpoint, counts[0], counts[1], statementThreshold, entityLoadThreshold);
+        }
+    }
+
+    /**
+     * Report of the top endpoints by flagged requests, then by average statements per request,
+     * and of the slowest queries recorded by Hibernate statistics
+     * Time Complexity: O(e log e + q log q) for e endpoints and q distinct queries
+     */
+    public QueryReport getReport(int limit) {
+        List<EndpointStatistics> endpointStatistics = new ArrayList<>();
+        for (EndpointCounters counters : endpoints.values()) {
+            endpointStatistics.add(counters.snapshot());
+        }
+        endpointStatistics.sort(Comparator.comparingLong(EndpointStatistics::getFlaggedRequests).reversed()
+                .thenComparing(Comparator.comparingDouble(EndpointStatistics::getAverageStatements).reversed()));
+
+        Statistics statistics = statistics();
+        List<SlowQuery> slowQueries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            slowQueries.add(new SlowQuery(query, queryStatistics.getExecutionCount(),
+                    queryStatistics.getExecutionAvgTimeAsDouble(), queryStatistics.getExecutionMaxTime()));
+        }
+        slowQueries.sort(Comparator.comparingLong(SlowQuery::getMaxMillis).reversed());
+
+        return new QueryReport(statementThreshold, entityLoadThreshold, statistics,
+                endpointStatistics.subList(0, Math.min(limit, endpointStatistics.size())),
+                slowQueries.subList(0, Math.min(limit, slowQueries.size())));
+    }
+
+    /**
+     * Clear per-endpoint totals and Hibernate statistics, e.g. before measuring a change
+     */
+    public void reset() {
+        endpoints.clear();
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.getObject().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static class EndpointCounters {
+        final String endpoint;
+        final LongAdder requests = new LongAdder();
+        final LongAdder flaggedRequests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder entityLoads = new LongAdder();
+        final LongAccumulator maxEntityLoads = new LongAccumulator(Math::max, 0);
+        final LongAdder elapsedNanos = new LongAdder();
+
+        EndpointCounters(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(int statementCount, int entityLoadCount, long elapsed, boolean flagged) {
+            requests.increment();
+            if (flagged) {
+                flaggedRequests.increment();
+            }
+            statements.add(statementCount);
+            maxStatements.accumulate(statementCount);
+            entityLoads.add(entityLoadCount);
+            maxEntityLoads.accumulate(entityLoadCount);
+            elapsedNanos.add(elapsed);
+        }
+
+        EndpointStatistics snapshot() {
+            return new EndpointStatistics(endpoint, requests.sum(), flaggedRequests.sum(), statements.sum(),
+                    maxStatements.get(), entityLoads.sum(), maxEntityLoads.get(), elapsedNanos.sum());
+        }
+    }
+
+    /**
+     * Inner class for the statement and entity load totals of one endpoint
+     */
+    public static class EndpointStatistics {
+        private final String endpoint;
+        private final long requests;
+        private final long flaggedRequests;
+        private final double averageStatements;
+        private final long maxStatements;
+        private final double averageEntityLoads;
+        private final long maxEntityLoads;
+        private final double averageMillis;
+
+        public EndpointStatistics(String endpoint, long requests, long flaggedRequests, long statements,
+                                  long maxStatements, long entityLoads, long maxEntityLoads, long elapsedNanos) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.flaggedRequests = flaggedRequests;
+            this.averageStatements = requests > 0 ? (double) statements / requests : 0.0;
+            this.maxStatements = maxStatements;
+            this.averageEntityLoads = requests > 0 ? (double) entityLoads / requests : 0.0;
+            this.maxEntityLoads = maxEntityLoads;
+            this.averageMillis = requests > 0 ? elapsedNanos / 1_000_000.0 / requests : 0.0;
+        }
+
+        // Getters
+        public String getEndpoint() { return endpoint; }
+        public long getRequests() { return requests; }
+        public long getFlaggedRequests() { return flaggedRequests; }
+        public double getAverageStatements() { return averageStatements; }
+        public long getMaxStatements() { return maxStatements; }
+        public double getAverageEntityLoads() { return averageEntityLoads; }
+        public long getMaxEntityLoads() { return maxEntityLoads; }
+        public double getAverageMillis() { return averageMillis; }
+    }
+
+    /**
+     * Inner class for the execution times of one HQL or native query
+     */
+    public static class SlowQuery {
+        private final String query;
+        private final long executions;
+        private final double averageMillis;
+        private final long maxMillis;
+
+        public SlowQuery(String query, long executions, double averageMillis, long maxMillis) {
+            this.query = query;
+            this.executions = executions;
+            this.averageMillis = averageMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        // Getters
+        public String getQuery() { return query; }
+        public long getExecutions() { return executions; }
+        public double getAverageMillis() { return averageMillis; }
+        public long getMaxMillis() { return maxMillis; }
+    }
+
+    /**
+     * Inner class for the query diagnostics report
+     */
+    public static class QueryReport {
+        private final int statementThreshold;
+        private final int entityLoadThreshold;
+        private final long statementsPrepared;
+        private final long queriesExecuted;
+        private final long entitiesLoaded;
+        private final long collectionsFetched;
+        private final List<EndpointStatistics> endpoints;
+        private final List<SlowQuery> slowestQueries;
+
+        public QueryReport(int statementThreshold, int entityLoadThreshold, Statistics statistics,
+                           List<EndpointStatistics> endpoints, List<SlowQuery> slowestQueries) {
+            this.statementThreshold = statementThreshold;
+            this.entityLoadThreshold = entityLoadThreshold;
+            this.statementsPrepared = statistics.getPrepareStatementCount();
+            this.queriesExecuted = statistics.getQueryExecutionCount();
+            this.entitiesLoaded = statistics.getEntityLoadCount();
+            this.collectionsFetched = statistics.getCollectionFetchCount();
+            this.endpoints = endpoints;
+            this.slowestQueries = slowestQueries;
+        }
+
+        // Getters
+        public int getStatementThreshold() { return statementThreshold; }
+        public int getEntityLoadThreshold() { return entityLoadThreshold; }
+        public long getStatementsPrepared() { return statementsPrepared; }
+        public long getQueriesExecuted() { return queriesExecuted; }
+        public long getEntitiesLoaded() { return entitiesLoaded; }
+        public long getCollectionsFetched() { return collectionsFetched; }
+        public List<EndpointStatistics> getEndpoints() { return endpoints; }
+        public List<SlowQuery> getSlowestQueries() { return slowestQueries; }
+    }
+}
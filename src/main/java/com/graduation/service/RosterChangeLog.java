@@ -0,0 +1,313 @@
+package com.graduation.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Activity 1: Asynchronous roster change log
+ * Replaces printing the whole roster inside every write transaction. Each enrollment,
+ * unenrollment and regrade is published after commit as a one-line diff into a bounded
+ * ring buffer; a background writer drains it in batches to the configured sink
+ * (log, file or none), writing at most max-events-per-second.
+ * Publishing never blocks: when the buffer is full the event is dropped and counted.
+ */
+@Component
+public class RosterChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterChangeLog.class);
+
+    private static final int MAX_BATCH = 256;
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final BlockingQueue<RosterChange> buffer;
+    private final Sink sink;
+    private final String sinkName;
+    private final int maxEventsPerSecond;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public RosterChangeLog(@Value("${graduation.roster-log.sink:log}") String sink,
+                           @Value("${graduation.roster-log.capacity:4096}") int capacity,
+                           @Value("${graduation.roster-log.max-events-per-second:1000}") int maxEventsPerSecond,
+                           @Value("${graduation.roster-log.file:./roster-changes.log}") String file) {
+        this.buffer = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.maxEventsPerSecond = Math.max(maxEventsPerSecond, 1);
+        this.sinkName = sink.trim().toLowerCase(Locale.ROOT);
+        this.sink = switch (sinkName) {
+            case "log" -> new LogSink();
+            case "file" -> new FileSink(Path.of(file));
+            case "noop", "none" -> null;
+            default -> throw new IllegalArgumentException("Unknown roster log sink: " + sink);
+        };
+    }
+
+    @PostConstruct
+    void start() {
+        if (sink == null) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "roster-change-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        sink.close();
+    }
+
+    /**
+     * Record that a student joined a course, once the current transaction commits
+     * Time Complexity: O(1), never blocks
+     */
+    public void enrolled(String courseId, String studentId, Double averageGrade) {
+        publish(new RosterChange(RosterChange.Type.ENROLLED, courseId, studentId, null, averageGrade));
+    }
+
+    /**
+     * Record that a student left a course, once the current transaction commits
+     * Time Complexity: O(1), never blocks
+     */
+    public void unenrolled(String courseId, String studentId) {
+        publish(new RosterChange(RosterChange.Type.UNENROLLED, courseId, studentId, null, null));
+    }
+
+    /**
+     * Record a student's average grade change within a course, once the current transaction commits
+     * Time Complexity: O(1), never blocks
+     */
+    public void regraded(String courseId, String studentId, Double previousGrade, Double averageGrade) {
+        publish(new RosterChange(RosterChange.Type.REGRADED, courseId, studentId, previousGrade, averageGrade));
+    }
+
+    /**
+     * Counters of the change log
+     * Time Complexity: O(1)
+     */
+    public Statistics getStatistics() {
+        return new Statistics(sinkName, buffer.size(), buffer.remainingCapacity() + buffer.size(),
+                published.sum(), dropped.sum(), written.sum(), failed.sum());
+    }
+
+    private void publish(RosterChange change) {
+        if (sink == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            published.increment();
+            if (!buffer.offer(change)) {
+                dropped.increment();
+            }
+        });
+    }
+
+    /**
+     * Writer loop: drain batches and pace them to maxEventsPerSecond; on shutdown flush what is left
+     */
+    private void drain() {
+        List<RosterChange> batch = new ArrayList<>(MAX_BATCH);
+        long windowStart = System.nanoTime();
+        int windowCount = 0;
+
+        while (running || !buffer.isEmpty()) {
+            long now = System.nanoTime();
+            if (now - windowStart >= ONE_SECOND_NANOS) {
+                windowStart = now;
+                windowCount = 0;
+            }
+            if (running && windowCount >= maxEventsPerSecond) {
+                sleepNanos(windowStart + ONE_SECOND_NANOS - now);
+                continue;
+            }
+
+            try {
+                RosterChange first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            int budget = running ? maxEventsPerSecond - windowCount : MAX_BATCH;
+            buffer.drainTo(batch, Math.max(Math.min(budget, MAX_BATCH) - 1, 0));
+
+            try {
+                sink.write(batch);
+                written.add(batch.size());
+            } catch (RuntimeException e) {
+                failed.add(batch.size());
+                log.warn("Roster change log could not write {} event(s)", batch.size(), e);
+            }
+            windowCount += batch.size();
+            batch.clear();
+        }
+    }
+
+    private void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Destination of written change events
+     */
+    private interface Sink {
+        void write(List<RosterChange> changes);
+
+        default void close() {}
+    }
+
+    private static class LogSink implements Sink {
+        private final Logger rosterLog = LoggerFactory.getLogger("com.graduation.roster");
+
+        @Override
+        public void write(List<RosterChange> changes) {
+            for (RosterChange change : changes) {
+                rosterLog.info("{}", change);
+            }
+        }
+    }
+
+    private static class FileSink implements Sink {
+        private final Path file;
+        private BufferedWriter out;
+
+        FileSink(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void write(List<RosterChange> changes) {
+            try {
+                if (out == null) {
+                    out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (RosterChange change : changes) {
+                    out.write(change.toString());
+                    out.newLine();
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    log.warn("Could not close roster change log {}", file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * One roster change, e.g. "CS101 +STU001 (85.50)", "CS101 -STU001" or "CS101 ~STU001 78.00 -> 85.50"
+     */
+    public static class RosterChange {
+        enum Type { ENROLLED, UNENROLLED, REGRADED }
+
+        private final Instant time = Instant.now();
+        private final Type type;
+        private final String courseId;
+        private final String studentId;
+        private final Double previousGrade;
+        private final Double averageGrade;
+
+        RosterChange(Type type, String courseId, String studentId, Double previousGrade, Double averageGrade) {
+            this.type = type;
+            this.courseId = courseId;
+            this.studentId = studentId;
+            this.previousGrade = previousGrade;
+            this.averageGrade = averageGrade;
+        }
+
+        @Override
+        public String toString() {
+            return switch (type) {
+                case ENROLLED -> String.format(Locale.ROOT, "%s %s +%s (%.2f)",
+                        time, courseId, studentId, grade(averageGrade));
+                case UNENROLLED -> String.format(Locale.ROOT, "%s %s -%s", time, courseId, studentId);
+                case REGRADED -> String.format(Locale.ROOT, "%s %s ~%s %.2f -> %.2f",
+                        time, courseId, studentId, grade(previousGrade), grade(averageGrade));
+            };
+        }
+
+        private static double grade(Double value) {
+            return value != null ? value : 0.0;
+        }
+    }
+
+    /**
+     * Inner class for change log counters
+     */
+    public static class Statistics {
+        private final String sink;
+        private final int pending;
+        private final int capacity;
+        private final long published;
+        private final long dropped;
+        private final long written;
+        private final long failed;
+
+        public Statistics(String sink, int pending, int capacity, long published, long dropped,
+                          long written, long failed) {
+            this.sink = sink;
+            this.pending = pending;
+            this.capacity = capacity;
+            this.published = published;
+            this.dropped = dropped;
+            this.written = written;
+            this.failed = failed;
+        }
+
+        // Getters
+        public String getSink() { return sink; }
+        public int getPending() { return pending; }
+        public int getCapacity() { return capacity; }
+        public long getPublished() { return published; }
+        public long getDropped() { return dropped; }
+        public long getWritten() { return written; }
+        public long getFailed() { return failed; }
+    }
+}
@@ -0,0 +1,118 @@
+package com.graduation.service;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Activity 1: Sampled SQL trace
+ * Low-overhead replacement for spring.jpa.show-sql in production: every statement Hibernate
+ * prepares passes through this inspector, and a random sample of them is logged through the
+ * com.graduation.sql logger. Tracing and the sample rate can be changed at runtime.
+ * When disabled, the cost per statement is one volatile read.
+ * Every statement is also counted for the current request by QueryDiagnostics.
+ */
+@Component
+public class SqlTraceInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger sqlLog = LoggerFactory.getLogger("com.graduation.sql");
+
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private final LongAdder inspected = new LongAdder();
+    private final LongAdder traced = new LongAdder();
+    private final QueryDiagnostics queryDiagnostics;
+
+    public SqlTraceInspector(QueryDiagnostics queryDiagnostics,
+                             @Value("${graduation.sql-trace.enabled:false}") boolean enabled,
+                             @Value("${graduation.sql-trace.sample-rate:0.01}") double sampleRate) {
+        this.queryDiagnostics = queryDiagnostics;
+        this.enabled = enabled;
+        this.sampleRate = clamp(sampleRate);
+    }
+
+    /**
+     * Register this inspector with the Hibernate session factory
+     */
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * Log the statement if tracing is on and it falls into the sample; the SQL is never changed
+     * Time Complexity: O(1)
+     */
+    @Override
+    public String inspect(String sql) {
+        queryDiagnostics.statementPrepared();
+        if (enabled) {
+            inspected.increment();
+            double rate = sampleRate;
+            if (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate) {
+                traced.increment();
+                sqlLog.info("{}", sql);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Turn tracing on or off and change the fraction of statements logged (0.0 - 1.0)
+     * @param sampleRate new sample rate, or null to keep the current one
+     */
+    public void configure(boolean enabled, Double sampleRate) {
+        if (sampleRate != null) {
+            this.sampleRate = clamp(sampleRate);
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Current settings and counters
+     * Time Complexity: O(1)
+     */
+    public Settings getSettings() {
+        return new Settings(enabled, sampleRate, inspected.sum(), traced.sum());
+    }
+
+    private static double clamp(double rate) {
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException("Sample rate must be a number between 0.0 and 1.0");
+        }
+        return Math.min(Math.max(rate, 0.0), 1.0);
+    }
+
+    /**
+     * Inner class for SQL trace settings and counters
+     */
+    public static class Settings {
+        private final boolean enabled;
+        private final Double sampleRate;
+        private final long inspected;
+        private final long traced;
+
+        public Settings(boolean enabled, Double sampleRate, long inspected, long traced) {
+            this.enabled = enabled;
+            this.sampleRate = sampleRate;
+            this.inspected = inspected;
+            this.traced = traced;
+        }
+
+        // Getters
+        public boolean isEnabled() { return enabled; }
+        public Double getSampleRate() { return sampleRate; }
+        public long getInspected() { return inspected; }
+        public long getTraced() { return traced; }
+    }
+}
@@ -1,5 +1,7 @@
 package com.graduation.service;
 
+import com.graduation.datastructures.GradeList;
+import com.graduation.dto.StudentSummary;
 import com.graduation.entity.Course;
 import com.graduation.entity.Grade;
 import com.graduation.entity.Student;
@@ -8,10 +10,10 @@ import com.graduation.repository.GradeRepository;
 import com.graduation.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Activity 1: Student Service
@@ -31,12 +33,21 @@ public class StudentService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CourseRankingIndex rankingIndex;
+
+    @Autowired
+    private EntityLookupCache lookupCache;
+
+    @Autowired
+    private OptimisticRetryTemplate optimisticRetry;
+
     /**
      * Create a new student
      * Time Complexity: O(1) for database insert
      */
     public Student createStudent(String studentId) {
-        if (studentRepository.existsByStudentId(studentId)) {
+        if (lookupCache.studentExists(studentId)) {
             throw new IllegalArgumentException("Student with ID " + studentId + " already exists");
         }
 
@@ -49,66 +60,48 @@ public class StudentService {
      * Time Complexity: O(log n) due to database indexing
      */
     public Optional<Student> findByStudentId(String studentId) {
-        return studentRepository.findByStudentId(studentId);
+        return lookupCache.findStudent(studentId);
+    }
+
+    /**
+     * Find the summary of a student by ID, without loading the entity
+     * Time Complexity: O(log n) due to database indexing, one query returning only the summary columns
+     */
+    public Optional<StudentSummary> findSummaryByStudentId(String studentId) {
+        return studentRepository.findSummaryByStudentId(studentId);
     }
 
     /**
      * Get all students ordered by average grade descending
      * Activity 1 Requirement: Support ordering by average grade
-     * Time Complexity: O(n log n) for database sorting
+     * Time Complexity: O(n log n) for database sorting, one query returning only the summary columns
      */
-    public List<Student> getAllStudentsOrderedByGrade() {
-        return studentRepository.findAllOrderByAverageGradeDesc();
+    public List<StudentSummary> getAllStudentsOrderedByGrade() {
+        return studentRepository.findAllSummariesOrderByAverageGradeDesc();
     }
 
     /**
      * Add grade to student for a specific course
      * Time Complexity: O(1) for database insert
+     * Retried on optimistic lock conflicts, each attempt in its own transaction
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Student addGrade(String studentId, String courseId, double gradeValue) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
-
-        Course course = courseRepository.findByCourseId(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
+        return optimisticRetry.execute("student.addGrade", () -> {
+            Student student = lookupCache.findStudent(studentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
 
-        Grade grade = new Grade(student, course, gradeValue);
-        gradeRepository.save(grade);
+            Course course = lookupCache.courseReference(courseId)
+                    .orElseThrow(() -> new IllegalArgumentException("Course not found: " + courseId));
 
-        // Update student's average grade
-        updateStudentAverageGrade(student);
-        return studentRepository.save(student);
-    }
-
-    /**
-     * Update student's grades (replace all)
-     * Time Complexity: O(n) for database operations
-     */
-    public Student updateGrades(String studentId, List<Double> newGrades) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
-
-        // Delete existing grades
-        gradeRepository.deleteByStudentId(studentId);
-
-        // Add new grades
-        for (Double gradeValue : newGrades) {
-            Grade grade = new Grade(student, gradeValue);
+            Grade grade = new Grade(student, course, gradeValue);
             gradeRepository.save(grade);
-        }
 
-        // Update student's average grade
-        updateStudentAverageGrade(student);
-        return studentRepository.save(student);
-    }
-
-    /**
-     * Update student's average grade
-     * Time Complexity: O(1) for database aggregation
-     */
-    private void updateStudentAverageGrade(Student student) {
-        Double average = gradeRepository.findAverageGradeByStudentId(student.getStudentId());
-        student.setAverageGrade(average != null ? average : 0.0);
+            // Update student's running totals and average grade
+            student.applyGradeAdded(gradeValue);
+            rankingIndex.gradeChanged(studentId, student.getAverageGrade());
+            return studentRepository.save(student);
+        });
     }
 
     /**
@@ -116,11 +109,13 @@ public class StudentService {
      * Time Complexity: O(n) for cascade delete
      */
     public void deleteStudent(String studentId) {
-        Student student = studentRepository.findByStudentId(studentId)
+        Student student = lookupCache.findStudent(studentId)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
 
         studentRepository.delete(student);
         // Grades will be deleted automatically due to cascade configuration
+        lookupCache.evictStudent(studentId);
+        rankingIndex.studentRemoved(studentId);
     }
 
     /**
@@ -132,60 +127,66 @@ public class StudentService {
     }
 
     /**
-     * Get student grades mapped by course
-     * Time Complexity: O(n*m) where n is courses, m is grades per course
+     * Get student statistics
+     * Time Complexity: O(n) over a single report query
      */
-    public Map<String, List<Double>> getStudentGradesByCourse(String studentId) {
-        System.out.println("=== getStudentGradesByCourse called for student: " + studentId);
-
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
-
-        System.out.println("Found student: " + student.getStudentId());
-
-        Map<String, List<Double>> gradesByCourse = new HashMap<>();
-
-        // Get all courses this student is enrolled in
-        List<Course> courses = courseRepository.findCoursesByStudentId(studentId);
-        System.out.println("Found " + courses.size() + " courses for student");
-
-        for (Course course : courses) {
-            System.out.println("Processing course: " + course.getCourseId());
-            // Use the correct query that filters by both student and course
-            List<Grade> grades = gradeRepository.findGradesByStudentIdAndCourseId(studentId, course.getId());
-            List<Double> courseGrades = grades.stream()
-                    .map(Grade::getGradeValue)
-                    .collect(Collectors.toList());
+    public StudentStatistics getStudentStatistics(String studentId) {
+        return getStudentGradeReport(studentId).getStatistics();
+    }
 
-            System.out.println("Found " + courseGrades.size() + " grades for course " + course.getCourseId() + ": " + courseGrades);
+    /**
+     * Get grades by course and statistics for a student in one database round trip
+     * gradesByCourse lists every enrolled course, even without grades yet. The statistics
+     * cover all of the student's grades, as the stored average does, and their count,
+     * average, highest and lowest are aggregated by the same query.
+     * Time Complexity: O(n) where n is the number of grades
+     */
+    public StudentGradeReport getStudentGradeReport(String studentId) {
+        List<Object[]> rows = gradeRepository.findGradeReportRowsByStudentId(studentId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Student not found: " + studentId);
+        }
 
-            // Include all enrolled courses, even if no grades yet
-            gradesByCourse.put(course.getCourseId(), courseGrades);
+        // Rows arrive ordered by course, one pass groups them
+        Map<String, GradeList> gradesByCourse = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            String courseId = (String) row[1];
+            if (courseId == null) {
+                continue; // Student without courses
+            }
+            GradeList courseGrades = gradesByCourse.computeIfAbsent(courseId, k -> new GradeList());
+            if (row[2] != null) {
+                courseGrades.add(((Number) row[2]).doubleValue());
+            }
         }
 
-        System.out.println("Returning gradesByCourse with " + gradesByCourse.size() + " entries");
-        return gradesByCourse;
+        Object[] first = rows.get(0);
+        StudentStatistics statistics = new StudentStatistics(
+                studentId,
+                first[3] != null ? ((Number) first[3]).intValue() : 0,
+                first[0] != null ? ((Number) first[0]).doubleValue() : null,
+                first[4] != null ? ((Number) first[4]).doubleValue() : null,
+                first[5] != null ? ((Number) first[5]).doubleValue() : 0.0,
+                first[6] != null ? ((Number) first[6]).doubleValue() : 0.0
+        );
+        return new StudentGradeReport(gradesByCourse, statistics);
     }
 
     /**
-     * Get student statistics
-     * Time Complexity: O(1) for database aggregation
+     * Inner class for the combined student grade report
      */
-    public StudentStatistics getStudentStatistics(String studentId) {
-        Student student = studentRepository.findByStudentId(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
+    public static class StudentGradeReport {
+        private final Map<String, GradeList> gradesByCourse;
+        private final StudentStatistics statistics;
 
-        List<Grade> grades = gradeRepository.findByStudentId(studentId);
-        Double averageFromDb = gradeRepository.findAverageGradeByStudentId(studentId);
+        public StudentGradeReport(Map<String, GradeList> gradesByCourse, StudentStatistics statistics) {
+            this.gradesByCourse = gradesByCourse;
+            this.statistics = statistics;
+        }
 
-        return new StudentStatistics(
-                studentId,
-                grades.size(),
-                student.getAverageGrade(),
-                averageFromDb,
-                grades.stream().mapToDouble(Grade::getGradeValue).max().orElse(0.0),
-                grades.stream().mapToDouble(Grade::getGradeValue).min().orElse(0.0)
-        );
+        // Getters
+        public Map<String, GradeList> getGradesByCourse() { return gradesByCourse; }
+        public StudentStatistics getStatistics() { return statistics; }
     }
 
     /**
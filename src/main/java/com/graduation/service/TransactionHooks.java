@@ -0,0 +1,29 @@
+package com.graduation.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for running in-memory side effects in step with database transactions
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {}
+
+    /**
+     * Run an action after the current transaction commits, or immediately without one,
+     * so rolled back changes never reach in-memory state
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Schema upgrades for existing Graduation Records databases
+-- Every statement must be idempotent: this script runs on every startup
+
+-- Students ordered by (average_grade DESC, id); course rosters are filtered through course_student first
+CREATE INDEX IF NOT EXISTS idx_student_average_grade_id ON student(average_grade DESC, id);
+
+-- Running grade totals used to maintain student.average_grade incrementally
+ALTER TABLE student ADD COLUMN IF NOT EXISTS grade_sum DOUBLE DEFAULT 0.0 NOT NULL;
+ALTER TABLE student ADD COLUMN IF NOT EXISTS grade_count INT DEFAULT 0 NOT NULL;
+
+-- Optimistic lock versions
+ALTER TABLE student ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE course ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Backfill totals for students whose grades were written without them (e.g. data.sql)
+UPDATE student s SET
+    grade_sum = (SELECT COALESCE(SUM(g.grade_value), 0.0) FROM grade g WHERE g.student_id = s.id),
+    grade_count = (SELECT COUNT(*) FROM grade g WHERE g.student_id = s.id),
+    average_grade = (SELECT COALESCE(AVG(g.grade_value), 0.0) FROM grade g WHERE g.student_id = s.id),
+    version = version + 1
+WHERE s.grade_count = 0 AND EXISTS (SELECT 1 FROM grade g WHERE g.student_id = s.id);
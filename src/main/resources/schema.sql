@@ -6,6 +6,9 @@ CREATE TABLE student (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     student_id VARCHAR(50) NOT NULL UNIQUE,
     average_grade DOUBLE DEFAULT 0.0,
+    grade_sum DOUBLE DEFAULT 0.0 NOT NULL,
+    grade_count INT DEFAULT 0 NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -15,6 +18,7 @@ CREATE TABLE course (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     course_id VARCHAR(50) NOT NULL UNIQUE,
     academic_year VARCHAR(20) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -42,6 +46,7 @@ CREATE TABLE course_student (
 
 -- Indexes for performance
 CREATE INDEX idx_student_student_id ON student(student_id);
+CREATE INDEX idx_student_average_grade_id ON student(average_grade DESC, id);
 CREATE INDEX idx_course_course_id ON course(course_id);
 CREATE INDEX idx_grade_student_id ON grade(student_id);
 CREATE INDEX idx_course_student_course_id ON course_student(course_id);
@@ -153,7 +153,7 @@ function createStudentCard(student, rank) {
     card.className = 'student-card';
 
     const averageGrade = student.averageGrade ? student.averageGrade.toFixed(2) : '0.00';
-    const gradeCount = student.grades ? student.grades.length : 0;
+    const gradeCount = student.gradeCount || 0;
 
     card.innerHTML = `
         <div class="student-header">
@@ -313,13 +313,13 @@ async function loadCourses() {
 
         courses.forEach(course => {
             const option = document.createElement('option');
-            option.value = course.course.courseId;
-            option.textContent = `${course.course.courseId} (${course.course.academicYear}) - ${course.studentCount} students (名学生)`;
+            option.value = course.courseId;
+            option.textContent = `${course.courseId} (${course.academicYear}) - ${course.studentCount} students (名学生)`;
             select.appendChild(option);
 
             const deleteOption = document.createElement('option');
-            deleteOption.value = course.course.courseId;
-            deleteOption.textContent = `${course.course.courseId} (${course.course.academicYear})`;
+            deleteOption.value = course.courseId;
+            deleteOption.textContent = `${course.courseId} (${course.academicYear})`;
             deleteSelect.appendChild(deleteOption);
         });
     } catch (error) {
@@ -396,7 +396,7 @@ function createCourseStudentCard(student, rank, courseId) {
     card.className = 'student-card';
 
     const averageGrade = student.averageGrade ? student.averageGrade.toFixed(2) : '0.00';
-    const gradeCount = student.grades ? student.grades.length : 0;
+    const gradeCount = student.gradeCount || 0;
 
     card.innerHTML = `
         <div class="student-header">
@@ -535,7 +535,7 @@ async function loadStatistics() {
             courses.forEach(course => {
                 detailsHtml += `
                     <div style="background: #f8f9fa; padding: 15px; margin: 10px 0; border-radius: 8px;">
-                        <strong>${course.course.courseId}</strong> (${course.course.academicYear})
+                        <strong>${course.courseId}</strong> (${course.academicYear})
                         - Student Count (学生数): ${course.studentCount}
                     </div>
                 `;
@@ -0,0 +1,72 @@
+package com.graduation.controller;
+
+import com.graduation.service.CourseService;
+import com.graduation.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /api/students/{studentId}/grades replaces a student's grades in one course
+ * Grades cannot exist without a course, so a request without courseId is rejected
+ */
+// Own database: the mock web context is a second application context, and schema.sql cannot
+// run twice against the in-memory database of the service tests
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:graduation-web-test;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentGradesEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void replacesGradesInTheGivenCourse() throws Exception {
+        studentService.createStudent("PUT-GRADES-1");
+        courseService.createCourse("PUT-GRADES-C1", "2024-2025");
+        studentService.addGrade("PUT-GRADES-1", "PUT-GRADES-C1", 40.0);
+
+        mockMvc.perform(put("/api/students/PUT-GRADES-1/grades")
+                        .param("courseId", "PUT-GRADES-C1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[80.0, 90.0]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gradeCount").value(2))
+                .andExpect(jsonPath("$.averageGrade").value(85.0));
+    }
+
+    @Test
+    void rejectsGradesWithoutACourse() throws Exception {
+        studentService.createStudent("PUT-GRADES-2");
+
+        mockMvc.perform(put("/api/students/PUT-GRADES-2/grades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[80.0, 90.0]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unknownCourseIsNotFound() throws Exception {
+        studentService.createStudent("PUT-GRADES-3");
+
+        mockMvc.perform(put("/api/students/PUT-GRADES-3/grades")
+                        .param("courseId", "PUT-GRADES-NONE")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[80.0]"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,138 @@
+package com.graduation.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.graduation.entity.Course;
+import com.graduation.repository.CourseRepository;
+import com.graduation.repository.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement-count regression test for removing one student from a large course roster
+ * The removal must not rewrite the course_student rows of the other enrolled students,
+ * neither through the service nor through the Course entity's students collection
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class CourseRosterRemovalQueryCountTest {
+
+    private static final int MAX_STATEMENTS = 5;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SqlTraceInspector sqlTrace;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void removingOneStudentFromLargeRosterRunsConstantStatements() {
+        String smallCourse = courseWithStudents("ROSTER-SMALL", 10);
+        String largeCourse = courseWithStudents("ROSTER-LARGE", 1000);
+
+        long smallStatements = statementsForRemoval(smallCourse, "ROSTER-SMALL-S5", 9);
+        long largeStatements = statementsForRemoval(largeCourse, "ROSTER-LARGE-S500", 999);
+
+        assertTrue(largeStatements <= MAX_STATEMENTS,
+                "Removing one of 1000 students ran " + largeStatements + " statements");
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    @Test
+    void removingOneStudentFromLoadedRosterDeletesOneEnrollmentRow() {
+        String courseId = courseWithStudents("ROSTER-ENTITY", 1000);
+
+        List<String> flushed = transactionTemplate.execute(status -> {
+            Course course = courseRepository.findByCourseIdWithStudents(courseId).orElseThrow();
+            assertEquals(1000, course.getStudentCount());
+            assertTrue(course.removeStudentById("ROSTER-ENTITY-S500"));
+            return statementsFlushed();
+        });
+
+        List<String> enrollmentDeletes = flushed.stream().filter(sql -> sql.startsWith("delete from course_student")).toList();
+        List<String> enrollmentInserts = flushed.stream().filter(sql -> sql.startsWith("insert into course_student")).toList();
+        assertEquals(1, enrollmentDeletes.size(), "Flushed " + flushed);
+        assertTrue(enrollmentDeletes.get(0).contains("where"), "Deleted the whole roster: " + enrollmentDeletes.get(0));
+        assertEquals(0, enrollmentInserts.size(), "Re-inserted " + enrollmentInserts.size() + " enrollment rows");
+        assertEquals(999, studentRepository.countByCourseId(courseId));
+    }
+
+    /**
+     * Flush the current persistence context and return the SQL it ran, lower-cased
+     * Every statement is logged through the SQL trace while the flush runs
+     */
+    private List<String> statementsFlushed() {
+        Logger sqlLogger = (Logger) LoggerFactory.getLogger("com.graduation.sql");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        sqlLogger.addAppender(appender);
+        SqlTraceInspector.Settings settings = sqlTrace.getSettings();
+        sqlTrace.configure(true, 1.0);
+        try {
+            courseRepository.flush();
+        } finally {
+            sqlTrace.configure(settings.isEnabled(), settings.getSampleRate());
+            sqlLogger.detachAppender(appender);
+        }
+        return appender.list.stream()
+                .map(event -> event.getFormattedMessage().trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    private String courseWithStudents(String courseId, int studentCount) {
+        courseService.createCourse(courseId, "2024-2025");
+        List<Object[]> rows = new ArrayList<>(studentCount);
+        List<String> studentIds = new ArrayList<>(studentCount);
+        for (int i = 1; i <= studentCount; i++) {
+            String studentId = courseId + "-S" + i;
+            rows.add(new Object[]{studentId, (double) (i % 101)});
+            studentIds.add(studentId);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO student (student_id, average_grade) VALUES (?, ?)", rows);
+        assertEquals(studentCount, courseService.addStudentsToCourse(courseId, studentIds).getEnrolled().size());
+        return courseId;
+    }
+
+    private long statementsForRemoval(String courseId, String studentId, int remaining) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+
+        assertFalse(courseService.removeStudentFromCourse(courseId, studentId).isEnrolled());
+
+        long statements = statistics.getPrepareStatementCount() - before;
+        assertEquals(remaining, studentRepository.countByCourseId(courseId));
+        return statements;
+    }
+}
@@ -0,0 +1,65 @@
+package com.graduation.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement-count regression test for loading a student's grades by course
+ * The report must stay one query no matter how many courses the student takes
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class StudentGradeReportQueryCountTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void gradesByCourseLoadRunsConstantStatementsRegardlessOfCourseCount() {
+        String fewCourses = studentWithGradedCourses("RPT-FEW", 2);
+        String manyCourses = studentWithGradedCourses("RPT-MANY", 25);
+
+        long fewStatements = statementsForReport(fewCourses, 2);
+        long manyStatements = statementsForReport(manyCourses, 25);
+
+        assertEquals(1, fewStatements);
+        assertEquals(fewStatements, manyStatements);
+    }
+
+    private String studentWithGradedCourses(String prefix, int courseCount) {
+        String studentId = prefix + "-STU";
+        studentService.createStudent(studentId);
+        for (int i = 1; i <= courseCount; i++) {
+            String courseId = prefix + "-C" + i;
+            courseService.createCourse(courseId, "2024-2025");
+            courseService.addStudentToCourse(courseId, studentId);
+            studentService.addGrade(studentId, courseId, 50.0 + i);
+        }
+        return studentId;
+    }
+
+    private long statementsForReport(String studentId, int expectedCourses) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+
+        StudentService.StudentGradeReport report = studentService.getStudentGradeReport(studentId);
+
+        long statements = statistics.getPrepareStatementCount() - before;
+        assertEquals(expectedCourses, report.getGradesByCourse().size());
+        assertEquals(expectedCourses, report.getStatistics().getGradeCount());
+        return statements;
+    }
+}